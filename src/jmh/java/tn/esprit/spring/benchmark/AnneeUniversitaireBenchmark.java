@@ -0,0 +1,30 @@
+package tn.esprit.spring.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+
+import java.util.concurrent.TimeUnit;
+
+// Calcul des bornes de l'année universitaire, appelé à chaque réservation et annulation
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnneeUniversitaireBenchmark {
+
+    AnneeUniversitaireService anneeUniversitaire = new AnneeUniversitaireService(new ParametresAnneeUniversitaire());
+
+    @Benchmark
+    public void bornesAnneeUniversitaire(Blackhole bh) {
+        bh.consume(anneeUniversitaire.courante());
+    }
+
+    @Benchmark
+    public void libelleAnneeUniversitaire(Blackhole bh) {
+        bh.consume(anneeUniversitaire.courante().libelle());
+    }
+}
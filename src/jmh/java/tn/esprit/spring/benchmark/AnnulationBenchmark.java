@@ -0,0 +1,70 @@
+package tn.esprit.spring.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tn.esprit.spring.DAO.Entities.Reservation;
+import tn.esprit.spring.DAO.Repositories.ReservationRepository;
+import tn.esprit.spring.Services.AnneeUniversitaire.IAnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.PeriodeAU;
+import tn.esprit.spring.Services.Reservation.IReservationService;
+
+import java.util.concurrent.TimeUnit;
+
+// annulerReservations ensembliste face à l'ancienne boucle select + save par réservation,
+// chaque appel repartant de toutes les réservations valides
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AnnulationBenchmark {
+
+    @Param({"1000", "5000"})
+    int nbChambres;
+
+    ConfigurableApplicationContext contexte;
+    JdbcTemplate jdbc;
+    IReservationService reservationService;
+    ReservationRepository reservationRepository;
+    IAnneeUniversitaireService anneeUniversitaire;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        contexte = ContexteBenchmark.demarrer("annulation");
+        jdbc = contexte.getBean(JdbcTemplate.class);
+        ContexteBenchmark.generer(contexte, nbChambres, 0.5);
+        reservationService = contexte.getBean(IReservationService.class);
+        reservationRepository = contexte.getBean(ReservationRepository.class);
+        anneeUniversitaire = contexte.getBean(IAnneeUniversitaireService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void revalider() {
+        jdbc.update("update t_reservation set est_valide = true");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexte.close();
+    }
+
+    @Benchmark
+    public void annulerReservations() {
+        reservationService.annulerReservations();
+    }
+
+    @Benchmark
+    public int ancienneBoucleSave() {
+        PeriodeAU au = anneeUniversitaire.courante();
+        int n = 0;
+        for (Reservation reservation : reservationRepository.findByEstValideAndAnneeUniversitaireBetween(
+                true, au.debut(), au.fin())) {
+            reservation.setEstValide(false);
+            reservationRepository.save(reservation);
+            n++;
+        }
+        return n;
+    }
+}
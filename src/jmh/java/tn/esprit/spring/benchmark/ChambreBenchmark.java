@@ -0,0 +1,50 @@
+package tn.esprit.spring.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.ChambreVue;
+import tn.esprit.spring.Services.Chambre.IChambreService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChambreBenchmark {
+
+    @Param({"1000", "10000"})
+    int nbChambres;
+
+    @Param({"0.5"})
+    double tauxOccupation;
+
+    ConfigurableApplicationContext contexte;
+    IChambreService chambreService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        contexte = ContexteBenchmark.demarrer("chambres");
+        ContexteBenchmark.generer(contexte, nbChambres, tauxOccupation);
+        chambreService = contexte.getBean(IChambreService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexte.close();
+    }
+
+    @Benchmark
+    public List<ChambreVue> getChambresNonReserveParNomFoyerEtTypeChambre() {
+        return chambreService.getChambresNonReserveParNomFoyerEtTypeChambre(ContexteBenchmark.NOM_FOYER, TypeChambre.DOUBLE);
+    }
+
+    @Benchmark
+    public long nbChambreParTypeEtBloc() {
+        return chambreService.nbChambreParTypeEtBloc(TypeChambre.DOUBLE, 1);
+    }
+}
@@ -0,0 +1,101 @@
+package tn.esprit.spring.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.web.SpringDataWebAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import tn.esprit.spring.Config.VirtualThreadsConfig;
+import tn.esprit.spring.RestControllers.ChambreRestController;
+import tn.esprit.spring.RestControllers.ExportNdjson;
+import tn.esprit.spring.Services.Chambre.RapportChambreService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Charge HTTP (chambre/placesDisponibles, une requête JDBC par appel) avec plus de clients simultanés que de threads
+// Tomcat: threads plateforme (200) contre threads virtuels, HikariCP borné à 20 connexions dans les deux cas.
+// Débit et p99 (SampleTime). Le mode virtuel demande un JDK 21 et mvn -P benchmark,java21, sinon:
+// -Djmh.args="-p virtuels=false"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class ChargeHttpBenchmark {
+
+    @Param({"false", "true"})
+    boolean virtuels;
+
+    @Param({"10000"})
+    int nbChambres;
+
+    ConfigurableApplicationContext contexte;
+    HttpClient client;
+    String url;
+
+    // Couche web réelle (contrôleur des chambres) au-dessus du contexte des autres benchmarks, sans sécurité
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class,
+            SpringDataWebAutoConfiguration.class})
+    @Import({ContexteBenchmark.class, ChambreRestController.class, RapportChambreService.class, ExportNdjson.class,
+            VirtualThreadsConfig.class})
+    public static class ContexteHttp {
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        contexte = new SpringApplicationBuilder(ContexteHttp.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--server.port=0",
+                        "--foyer.threads.virtuels.enabled=" + virtuels,
+                        "--server.tomcat.threads.max=200",
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--spring.datasource.hikari.connection-timeout=5000",
+                        "--spring.datasource.url=jdbc:h2:mem:charge;DB_CLOSE_DELAY=-1",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        ContexteBenchmark.generer(contexte, nbChambres, 0.5);
+        client = HttpClient.newHttpClient();
+        url = "http://localhost:" + ((WebServerApplicationContext) contexte).getWebServer().getPort()
+                + "/chambre/placesDisponibles?size=20&apres=";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexte.close();
+    }
+
+    @Benchmark
+    public int placesDisponibles() throws Exception {
+        HttpRequest requete = HttpRequest.newBuilder(URI.create(url + ThreadLocalRandom.current().nextInt(nbChambres))).build();
+        HttpResponse<Void> reponse = client.send(requete, HttpResponse.BodyHandlers.discarding());
+        if (reponse.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + reponse.statusCode());
+        }
+        return reponse.statusCode();
+    }
+}
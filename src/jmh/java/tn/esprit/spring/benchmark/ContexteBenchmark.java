@@ -0,0 +1,62 @@
+package tn.esprit.spring.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tn.esprit.spring.Generateur.GenerateurDonnees;
+import tn.esprit.spring.Generateur.ParametresGenerateur;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Chambre.ChambreService;
+import tn.esprit.spring.Services.Chambre.OccupationChambreService;
+import tn.esprit.spring.Services.Chambre.StatistiquesChambreService;
+import tn.esprit.spring.Services.Notification.BoiteEnvoiService;
+import tn.esprit.spring.Services.Reservation.ReservationService;
+
+// Contexte Spring réduit aux repositories et aux services mesurés, sur une base H2 en mémoire.
+// Volontairement sans @Configuration: les tests @SpringBootTest ne doivent pas le scanner.
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+        JdbcTemplateAutoConfiguration.class, HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class})
+@EntityScan("tn.esprit.spring.DAO.Entities")
+@EnableJpaRepositories("tn.esprit.spring.DAO.Repositories")
+@Import({ChambreService.class, ReservationService.class, OccupationChambreService.class, StatistiquesChambreService.class,
+        GenerateurDonnees.class, AnneeUniversitaireService.class, ParametresAnneeUniversitaire.class, BoiteEnvoiService.class})
+public class ContexteBenchmark {
+    public static final int CHAMBRES_PAR_BLOC = 100;
+    public static final String NOM_FOYER = GenerateurDonnees.nomFoyer(1);
+
+    public static ConfigurableApplicationContext demarrer(String nomBase) {
+        return new SpringApplicationBuilder(ContexteBenchmark.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + nomBase + ";DB_CLOSE_DELAY=-1",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+    }
+
+    // Jeu de données partagé avec les tests de charge: un foyer, des blocs de CHAMBRES_PAR_BLOC chambres,
+    // trois étudiants par chambre et deux années universitaires de réservations
+    public static void generer(ConfigurableApplicationContext contexte, int nbChambres, double tauxOccupation) {
+        ParametresGenerateur parametres = new ParametresGenerateur();
+        parametres.setNbUniversites(1);
+        parametres.setBlocsParFoyer((nbChambres + CHAMBRES_PAR_BLOC - 1) / CHAMBRES_PAR_BLOC);
+        parametres.setChambresParBloc(CHAMBRES_PAR_BLOC);
+        parametres.setNbEtudiants(nbChambres * 3);
+        parametres.setTauxOccupation(tauxOccupation);
+        parametres.setNbAnnees(2);
+        contexte.getBean(GenerateurDonnees.class).generer(parametres);
+        // Réservations générées, conservées d'une itération à l'autre
+        contexte.getBean(JdbcTemplate.class).execute("create table bench_reservations as select id_reservation from t_reservation");
+    }
+}
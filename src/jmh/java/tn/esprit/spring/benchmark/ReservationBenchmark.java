@@ -0,0 +1,65 @@
+package tn.esprit.spring.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tn.esprit.spring.DAO.Entities.Reservation;
+import tn.esprit.spring.Generateur.GenerateurDonnees;
+import tn.esprit.spring.Services.Chambre.IOccupationChambreService;
+import tn.esprit.spring.Services.Reservation.IReservationService;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationBenchmark {
+
+    @Param({"1000", "10000"})
+    int nbChambres;
+
+    @Param({"0.5"})
+    double tauxOccupation;
+
+    ConfigurableApplicationContext contexte;
+    JdbcTemplate jdbc;
+    IReservationService reservationService;
+    IOccupationChambreService occupationChambreService;
+    int nbEtudiants;
+    long compteur;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        contexte = ContexteBenchmark.demarrer("reservations");
+        jdbc = contexte.getBean(JdbcTemplate.class);
+        nbEtudiants = nbChambres * 3;
+        ContexteBenchmark.generer(contexte, nbChambres, tauxOccupation);
+        reservationService = contexte.getBean(IReservationService.class);
+        occupationChambreService = contexte.getBean(IOccupationChambreService.class);
+    }
+
+    // Chaque itération repart du jeu de données initial, sinon les chambres finissent toutes complètes
+    @Setup(Level.Iteration)
+    public void reinitialiser() {
+        jdbc.update("delete from t_chambre_reservations where reservations_id_reservation not in (select id_reservation from bench_reservations)");
+        jdbc.update("delete from t_reservation_etudiants where reservations_id_reservation not in (select id_reservation from bench_reservations)");
+        jdbc.update("delete from t_reservation where id_reservation not in (select id_reservation from bench_reservations)");
+        occupationChambreService.charger();
+        compteur = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexte.close();
+    }
+
+    @Benchmark
+    public Reservation ajouterReservationEtAssignerAChambreEtAEtudiant() {
+        long i = compteur++;
+        return reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(
+                1 + i % nbChambres, GenerateurDonnees.PREMIER_CIN + 1 + i % nbEtudiants);
+    }
+}
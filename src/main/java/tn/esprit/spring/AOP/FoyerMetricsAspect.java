@@ -0,0 +1,73 @@
+package tn.esprit.spring.AOP;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Un seul advice autour des services: un Timer Micrometer par méthode et par issue
+// (foyer.service.execution, exporté sur /actuator/prometheus). Les Timers sont créés
+// au premier appel puis retrouvés par la Method, sans construire de chaîne par appel.
+// Les histogrammes se règlent avec management.metrics.distribution.*.foyer.service.execution
+@Aspect
+@Component
+public class FoyerMetricsAspect {
+    public static final String TIMER = "foyer.service.execution";
+
+    private final MeterRegistry registry;
+    // Part des appels mesurés (1.0: tous, 0.0: aucun); les compteurs sont alors à l'échelle de l'échantillon
+    private final double echantillonnage;
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public FoyerMetricsAspect(MeterRegistry registry,
+                              @Value("${foyer.metrics.services.echantillonnage:1.0}") double echantillonnage) {
+        this.registry = registry;
+        this.echantillonnage = echantillonnage;
+    }
+
+    @Around("execution(* tn.esprit.spring.Services..*.*(..))")
+    public Object mesurer(ProceedingJoinPoint pjp) throws Throwable {
+        if (echantillonnage < 1.0 && ThreadLocalRandom.current().nextDouble() >= echantillonnage) {
+            return pjp.proceed();
+        }
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        long debut = System.nanoTime();
+        try {
+            Object resultat = pjp.proceed();
+            timers(method)[0].record(System.nanoTime() - debut, TimeUnit.NANOSECONDS);
+            return resultat;
+        } catch (Throwable t) {
+            timers(method)[1].record(System.nanoTime() - debut, TimeUnit.NANOSECONDS);
+            throw t;
+        }
+    }
+
+    private Timer[] timers(Method method) {
+        Timer[] t = timers.get(method);
+        return t != null ? t : timers.computeIfAbsent(method, this::creer);
+    }
+
+    private Timer[] creer(Method method) {
+        String classe = method.getDeclaringClass().getSimpleName();
+        return new Timer[]{timer(classe, method.getName(), "succes"), timer(classe, method.getName(), "erreur")};
+    }
+
+    private Timer timer(String classe, String methode, String issue) {
+        return Timer.builder(TIMER)
+                .description("Durée d'exécution des méthodes de service")
+                .tag("classe", classe)
+                .tag("methode", methode)
+                .tag("issue", issue)
+                .register(registry);
+    }
+}
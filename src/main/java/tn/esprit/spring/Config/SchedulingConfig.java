@@ -0,0 +1,38 @@
+package tn.esprit.spring.Config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import tn.esprit.spring.Schedular.PlanificateurMesure;
+
+// Les @Scheduled tournent sur un pool dédié (taille, préfixe et arrêt réglés par spring.task.scheduling.*),
+// enveloppé pour mesurer chaque tâche et appliquer foyer.planification.taches.<Classe>.<methode>.active
+@Configuration
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    private final TaskSchedulerBuilder taskSchedulerBuilder;
+    private final MeterRegistry registry;
+    private final Environment environment;
+
+    public SchedulingConfig(TaskSchedulerBuilder taskSchedulerBuilder, MeterRegistry registry, Environment environment) {
+        this.taskSchedulerBuilder = taskSchedulerBuilder;
+        this.registry = registry;
+        this.environment = environment;
+    }
+
+    // Déclaré ici: Spring Boot ne crée pas le sien dès qu'un SchedulingConfigurer existe
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        return taskSchedulerBuilder.build();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(new PlanificateurMesure(taskScheduler(), registry, environment));
+    }
+}
@@ -0,0 +1,56 @@
+package tn.esprit.spring.Config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+// Mode optionnel (foyer.threads.virtuels.enabled=true): requêtes HTTP, @Async et @Scheduled sur des
+// threads virtuels. Le nombre de requêtes simultanées n'est plus borné par Tomcat mais par le pool HikariCP
+// (spring.datasource.hikari.maximum-pool-size).
+@Configuration
+@ConditionalOnProperty(name = "foyer.threads.virtuels.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    // Exécuteurs fermés avec le contexte: close() attend la fin des tâches en cours
+    @Bean(destroyMethod = "close")
+    public ExecutorService executeurHttpVirtuel() {
+        return Executors.newThreadPerTaskExecutor(fabrique("http-"));
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService executeurAsyncVirtuel() {
+        return Executors.newThreadPerTaskExecutor(fabrique("async-"));
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> protocolHandlerThreadsVirtuels(
+            @Qualifier("executeurHttpVirtuel") ExecutorService executeur) {
+        return protocolHandler -> protocolHandler.setExecutor(executeur);
+    }
+
+    // Remplace l'exécuteur de Spring Boot pour @Async et les requêtes MVC asynchrones
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(@Qualifier("executeurAsyncVirtuel") ExecutorService executeur) {
+        return new TaskExecutorAdapter(executeur);
+    }
+
+    // Appliqué au pool des tâches planifiées construit par SchedulingConfig
+    @Bean
+    public TaskSchedulerCustomizer taskSchedulerThreadsVirtuels() {
+        ThreadFactory fabrique = fabrique("planification-");
+        return scheduler -> scheduler.setThreadFactory(fabrique);
+    }
+
+    private static ThreadFactory fabrique(String prefixe) {
+        return Thread.ofVirtual().name(prefixe, 0).factory();
+    }
+}
@@ -4,12 +4,15 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "T_BLOC")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bloc")
+@Table(name = "T_BLOC", indexes = @Index(name = "idx_bloc_nom", columnList = "nomBloc"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,7 +29,9 @@ public class Bloc{
     @ManyToOne
     @JsonIgnore
     Foyer foyer;
-    @OneToMany(mappedBy = "bloc", fetch = FetchType.EAGER)
+    // LAZY: les appelants qui ont besoin des chambres passent par les
+    // méthodes "AvecChambres" de BlocRepository (entity graph)
+    @OneToMany(mappedBy = "bloc")
     @JsonIgnore
     List<Chambre> chambres= new ArrayList<>();
 }
@@ -4,12 +4,18 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "chambre")
+@NaturalIdCache(region = "chambre-numero")
 @Table(name = "T_CHAMBRE")
 @Getter
 @Setter
@@ -21,6 +27,8 @@ public class Chambre implements Serializable {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     long idChambre;
+    // Identifiant naturel modifiable: addOrUpdate peut renuméroter une chambre
+    @NaturalId(mutable = true)
     @Column(unique = true)
     long numeroChambre;
     @Enumerated(EnumType.STRING)
@@ -28,7 +36,10 @@ public class Chambre implements Serializable {
     @ManyToOne(cascade = CascadeType.ALL)
     @JsonIgnore
     Bloc bloc;
+    // Set et non List: Hibernate supprime et réinsère toutes les lignes d'un "bag" à chaque ajout,
+    // ce qui perd les réservations concurrentes de la même chambre
     @OneToMany
-    List<Reservation> reservations= new ArrayList<>();
+    @Builder.Default
+    Set<Reservation> reservations= new HashSet<>();
 
 }
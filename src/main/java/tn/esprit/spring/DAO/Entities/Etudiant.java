@@ -3,6 +3,8 @@ package tn.esprit.spring.DAO.Entities;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.io.Serializable;
 import java.time.LocalDate;
@@ -10,7 +12,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "T_ETUDIANT")
+@Table(name = "T_ETUDIANT", indexes = {
+        @Index(name = "uk_etudiant_cin", columnList = "cin", unique = true),
+        // Recherches paginées par clé: filtre puis tri sur l'id
+        @Index(name = "idx_etudiant_nom_id", columnList = "nomEt, idEtudiant"),
+        @Index(name = "idx_etudiant_date_naissance_id", columnList = "dateNaissance, idEtudiant")
+})
+// Seule la correspondance cin -> id est mise en cache, l'étudiant est relu par sa clé primaire
+@NaturalIdCache(region = "etudiant-cin")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,8 +32,11 @@ public class Etudiant implements Serializable {
     long idEtudiant;
     String nomEt;
     String prenomEt;
+    @NaturalId(mutable = true)
     long cin;
     String ecole;
+    // Destinataire des confirmations de réservation, facultatif
+    String email;
     LocalDate dateNaissance;
     @ManyToMany(mappedBy = "etudiants")
     List<Reservation> reservations= new ArrayList<>();
@@ -1,15 +1,19 @@
 package tn.esprit.spring.DAO.Entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "T_FOYER")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "foyer")
+@Table(name = "T_FOYER", indexes = @Index(name = "idx_foyer_nom", columnList = "nomFoyer"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,6 +27,7 @@ public class Foyer implements Serializable {
     String nomFoyer;
     long capaciteFoyer;
     @OneToOne(mappedBy = "foyer")
+    @JsonIgnoreProperties("foyer")
     Universite universite;
     @OneToMany(mappedBy = "foyer")
     List<Bloc> blocs= new ArrayList<>();
@@ -0,0 +1,36 @@
+package tn.esprit.spring.DAO.Entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Boîte d'envoi (outbox): mail écrit dans la transaction métier, envoyé plus tard puis supprimé
+@Entity
+@Table(name = "T_MESSAGE_SORTANT", indexes = {
+        // Messages dus, dans l'ordre d'écriture
+        @Index(name = "idx_message_prochaine_tentative", columnList = "prochaineTentative, idMessage")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class MessageSortant implements Serializable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    long idMessage;
+    String destinataire;
+    String sujet;
+    @Column(length = 2000)
+    String corps;
+    LocalDateTime dateCreation;
+    int nbTentatives;
+    // Null une fois abandonné (adresse invalide, tentatives épuisées): le message reste en table pour analyse
+    LocalDateTime prochaineTentative;
+    @Column(length = 500)
+    String derniereErreur;
+}
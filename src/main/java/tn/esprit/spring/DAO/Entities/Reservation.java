@@ -11,20 +11,27 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "T_RESERVATION")
+@Table(name = "T_RESERVATION", indexes = {
+        @Index(name = "idx_reservation_annee", columnList = "anneeUniversitaire"),
+        // Réservations valides d'une année universitaire (annulation, occupation des chambres)
+        @Index(name = "idx_reservation_valide_annee", columnList = "estValide, anneeUniversitaire")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Reservation implements Serializable {
     @Id
+    @EqualsAndHashCode.Include
     String idReservation;
     LocalDate anneeUniversitaire;
     boolean estValide;
     @ManyToMany
     @JsonIgnore
+    @Builder.Default
     List<Etudiant> etudiants = new ArrayList<>();
 
 }
@@ -3,11 +3,14 @@ package tn.esprit.spring.DAO.Entities;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 
 @Entity
-@Table(name = "T_UNIVERSITE")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "universite")
+@Table(name = "T_UNIVERSITE", indexes = @Index(name = "idx_universite_nom", columnList = "nomUniversite"))
 @Getter
 @Setter
 @NoArgsConstructor
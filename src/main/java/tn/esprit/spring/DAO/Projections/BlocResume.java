@@ -0,0 +1,10 @@
+package tn.esprit.spring.DAO.Projections;
+
+// Colonnes de t_bloc seules, sans foyer ni chambres
+public interface BlocResume {
+    long getIdBloc();
+
+    String getNomBloc();
+
+    long getCapaciteBloc();
+}
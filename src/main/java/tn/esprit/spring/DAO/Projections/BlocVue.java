@@ -0,0 +1,8 @@
+package tn.esprit.spring.DAO.Projections;
+
+// Vue de lecture d'un bloc: ses colonnes et son foyer (id et nom), sans les chambres
+public interface BlocVue extends BlocResume {
+    Long getIdFoyer();
+
+    String getNomFoyer();
+}
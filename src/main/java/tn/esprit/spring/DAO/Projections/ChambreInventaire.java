@@ -0,0 +1,14 @@
+package tn.esprit.spring.DAO.Projections;
+
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+
+// Chambre vue par l'inventaire: son bloc, son numéro et son type
+public interface ChambreInventaire {
+    long getIdBloc();
+
+    long getIdChambre();
+
+    long getNumeroChambre();
+
+    TypeChambre getTypeC();
+}
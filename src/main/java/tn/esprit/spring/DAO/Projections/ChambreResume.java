@@ -0,0 +1,12 @@
+package tn.esprit.spring.DAO.Projections;
+
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+
+// Colonnes de t_chambre seules, sans bloc ni réservations
+public interface ChambreResume {
+    long getIdChambre();
+
+    long getNumeroChambre();
+
+    TypeChambre getTypeC();
+}
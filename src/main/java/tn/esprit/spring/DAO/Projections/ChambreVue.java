@@ -0,0 +1,8 @@
+package tn.esprit.spring.DAO.Projections;
+
+// Vue de lecture d'une chambre: ses colonnes et son bloc (id et nom), sans les réservations
+public interface ChambreVue extends ChambreResume {
+    Long getIdBloc();
+
+    String getNomBloc();
+}
@@ -0,0 +1,20 @@
+package tn.esprit.spring.DAO.Projections;
+
+import java.time.LocalDate;
+
+// Vue de lecture d'un étudiant: colonnes de t_etudiant, sans les réservations
+public interface EtudiantVue {
+    long getIdEtudiant();
+
+    String getNomEt();
+
+    String getPrenomEt();
+
+    long getCin();
+
+    String getEcole();
+
+    String getEmail();
+
+    LocalDate getDateNaissance();
+}
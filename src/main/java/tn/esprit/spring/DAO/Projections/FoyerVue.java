@@ -0,0 +1,16 @@
+package tn.esprit.spring.DAO.Projections;
+
+// Vue de lecture d'un foyer: son université (id et nom) et le nombre de ses blocs, sans les blocs eux-mêmes
+public interface FoyerVue {
+    long getIdFoyer();
+
+    String getNomFoyer();
+
+    long getCapaciteFoyer();
+
+    Long getIdUniversite();
+
+    String getNomUniversite();
+
+    long getNbBlocs();
+}
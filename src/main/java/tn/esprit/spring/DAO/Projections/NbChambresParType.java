@@ -0,0 +1,12 @@
+package tn.esprit.spring.DAO.Projections;
+
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+
+// Nombre de chambres d'un type dans un bloc (typeC null: bloc sans chambre; idBloc null: toutes les chambres)
+public interface NbChambresParType {
+    Long getIdBloc();
+
+    TypeChambre getTypeC();
+
+    long getNbChambres();
+}
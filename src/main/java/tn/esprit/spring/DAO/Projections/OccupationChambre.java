@@ -0,0 +1,8 @@
+package tn.esprit.spring.DAO.Projections;
+
+// Nombre de réservations d'une chambre (projection des requêtes group by)
+public interface OccupationChambre {
+    long getIdChambre();
+
+    long getNbReservations();
+}
@@ -0,0 +1,21 @@
+package tn.esprit.spring.DAO.Projections;
+
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+
+// Chambres d'un type dans un bloc et leurs places occupées (projection du rapport de répartition);
+// idBloc null: chambres sans bloc, typeC null: chambres sans type
+public interface RepartitionChambres {
+    Long getIdFoyer();
+
+    String getNomFoyer();
+
+    Long getIdBloc();
+
+    String getNomBloc();
+
+    TypeChambre getTypeC();
+
+    long getNbChambres();
+
+    long getNbPlacesOccupees();
+}
@@ -0,0 +1,14 @@
+package tn.esprit.spring.DAO.Projections;
+
+// Vue de lecture d'une université: son foyer (id et nom), sans les blocs du foyer
+public interface UniversiteVue {
+    long getIdUniversite();
+
+    String getNomUniversite();
+
+    String getAdresse();
+
+    Long getIdFoyer();
+
+    String getNomFoyer();
+}
@@ -1,13 +1,23 @@
 package tn.esprit.spring.DAO.Repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import tn.esprit.spring.DAO.Entities.Bloc;
 import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.BlocResume;
+import tn.esprit.spring.DAO.Projections.BlocVue;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BlocRepository extends JpaRepository<Bloc, Long> {
 
@@ -31,6 +41,17 @@ public interface BlocRepository extends JpaRepository<Bloc, Long> {
     @Query(value = "update t_bloc set nom_bloc=?1 where capacite_bloc<10", nativeQuery = true)
     void updateBlocSQL(String nom);
 
+    // Bloc.chambres est LAZY: chargement explicite des chambres (une seule requête avec jointure)
+    @EntityGraph(attributePaths = "chambres")
+    @Query("select b from Bloc b")
+    List<Bloc> findAllAvecChambres();
+
+    @EntityGraph(attributePaths = "chambres")
+    Optional<Bloc> findAvecChambresByIdBloc(long idBloc);
+
+    @EntityGraph(attributePaths = "chambres")
+    Bloc findAvecChambresByNomBloc(String nomBloc);
+
     // Récupérer les blocs qui ont des chambres avec un typeChambre donné
     // Bloc (Child) 1--* Chambre (Parent-FK)
     @Query("select b from Bloc b join Chambre c on c.bloc.idBloc=b.idBloc  where c.typeC=?1")
@@ -40,6 +61,7 @@ public interface BlocRepository extends JpaRepository<Bloc, Long> {
     // 1- Recherche par nomBloc
     List<Bloc> getByNomBloc(String nom);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Bloc findByNomBloc(String nom);
 
     // 2- Recherche par capaciteBloc
@@ -99,21 +121,31 @@ public interface BlocRepository extends JpaRepository<Bloc, Long> {
             , nativeQuery = true)
     List<Bloc> req10SQL(long idU);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VUE_BLOC + " order by b.idBloc")
+    Stream<BlocVue> streamVues();
 
+    List<Bloc> findByIdBlocGreaterThanOrderByIdBloc(long idBloc, Pageable pageable);
 
+    // Inventaire: même pagination par clé, colonnes du bloc seules (ni foyer ni université)
+    @Query("select b.idBloc as idBloc, b.nomBloc as nomBloc, b.capaciteBloc as capaciteBloc from Bloc b " +
+            "where b.idBloc > ?1 order by b.idBloc")
+    List<BlocResume> getBlocsResumeApres(long idBloc, Pageable pageable);
 
+    //********************* Vues de lecture *********************
+    // Une seule requête par liste: le bloc et son foyer, sans les chambres
+    String VUE_BLOC = "select b.idBloc as idBloc, b.nomBloc as nomBloc, b.capaciteBloc as capaciteBloc, " +
+            "f.idFoyer as idFoyer, f.nomFoyer as nomFoyer from Bloc b left join b.foyer f";
 
+    @Query(VUE_BLOC + " order by b.idBloc")
+    List<BlocVue> findAllVues();
 
+    @Query(value = VUE_BLOC, countQuery = "select count(b) from Bloc b")
+    Page<BlocVue> findAllVues(Pageable pageable);
 
+    @Query(VUE_BLOC + " where b.idBloc > ?1 order by b.idBloc")
+    List<BlocVue> findVuesApres(long idBloc, Pageable pageable);
 
-
-
-
-
-
-
-
-
-
-
+    @Query(VUE_BLOC + " where b.idBloc = ?1")
+    Optional<BlocVue> findVueById(long idBloc);
 }
@@ -0,0 +1,8 @@
+package tn.esprit.spring.DAO.Repositories;
+
+import tn.esprit.spring.DAO.Entities.Chambre;
+
+// Recherche par identifiant naturel (numeroChambre): servie par la session puis le cache de second niveau
+public interface ChambreNaturalIdRepository {
+    Chambre chargerParNumero(long numeroChambre);
+}
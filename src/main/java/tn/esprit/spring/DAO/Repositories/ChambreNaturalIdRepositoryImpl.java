@@ -0,0 +1,19 @@
+package tn.esprit.spring.DAO.Repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.Chambre;
+
+@Transactional(readOnly = true)
+public class ChambreNaturalIdRepositoryImpl implements ChambreNaturalIdRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public Chambre chargerParNumero(long numeroChambre) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Chambre.class).load(numeroChambre);
+    }
+}
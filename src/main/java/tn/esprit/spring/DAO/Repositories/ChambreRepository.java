@@ -1,16 +1,32 @@
 package tn.esprit.spring.DAO.Repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import tn.esprit.spring.DAO.Entities.Bloc;
 import tn.esprit.spring.DAO.Entities.Chambre;
 import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.ChambreInventaire;
+import tn.esprit.spring.DAO.Projections.ChambreResume;
+import tn.esprit.spring.DAO.Projections.ChambreVue;
+import tn.esprit.spring.DAO.Projections.NbChambresParType;
+import tn.esprit.spring.DAO.Projections.OccupationChambre;
+import tn.esprit.spring.DAO.Projections.RepartitionChambres;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ChambreRepository extends JpaRepository<Chambre, Long> {
+public interface ChambreRepository extends JpaRepository<Chambre, Long>, ChambreNaturalIdRepository {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Chambre findByNumeroChambre(long num);
 
 
@@ -27,6 +43,61 @@ public interface ChambreRepository extends JpaRepository<Chambre, Long> {
     //Keyword
     int countReservationsByIdChambreAndReservationsAnneeUniversitaireBetween(long chambreId, LocalDate dateDebutAU, LocalDate dateFinAU);
 
+    //*****************************************************************
+
+    //********************* Chambres non réservées *********************
+    // Une seule requête: nombre de réservations valides de la période (bornes comprises) par chambre (group by)
+    // comparé à la capacité du type de chambre, comme le contrôle fait à la réservation; lues en vues
+    @Query("select c.idChambre as idChambre, c.numeroChambre as numeroChambre, c.typeC as typeC, " +
+            "b.idBloc as idBloc, b.nomBloc as nomBloc from Chambre c join c.bloc b join b.foyer f " +
+            "left join c.reservations r on r.estValide = true and r.anneeUniversitaire between :dateDebutAU and :dateFinAU " +
+            "where c.typeC = :type and f.nomFoyer = :nomFoyer " +
+            "group by c.idChambre, c.numeroChambre, c.typeC, b.idBloc, b.nomBloc having count(r) < :capacite")
+    List<ChambreVue> getChambresNonReserveParNomFoyerEtTypeChambre(@Param("nomFoyer") String nomFoyer,
+                                                                @Param("type") TypeChambre type,
+                                                                @Param("capacite") long capacite,
+                                                                @Param("dateDebutAU") LocalDate dateDebutAU,
+                                                                @Param("dateFinAU") LocalDate dateFinAU);
+
+    //********************* Index d'occupation *********************
+    @Query("select c.idChambre as idChambre, count(r) as nbReservations from Chambre c join c.reservations r " +
+            "where r.estValide = true and r.anneeUniversitaire between ?1 and ?2 group by c.idChambre")
+    List<OccupationChambre> countReservationsValidesParChambre(LocalDate dateDebutAU, LocalDate dateFinAU);
+
+    // Même décompte pour une seule chambre: réconciliation sous le verrou de la chambre
+    @Query("select count(r) from Chambre c join c.reservations r " +
+            "where c.idChambre = ?1 and r.estValide = true and r.anneeUniversitaire between ?2 and ?3")
+    long countReservationsValidesDeLaChambre(long idChambre, LocalDate dateDebutAU, LocalDate dateFinAU);
+
+    //********************* Places disponibles *********************
+    // Page de chambres (pagination par clé) sans jointure: les réservations viennent de l'index d'occupation
+    @Query("select c.idChambre as idChambre, c.numeroChambre as numeroChambre, c.typeC as typeC from Chambre c " +
+            "where c.idChambre > ?1 order by c.idChambre")
+    List<ChambreResume> getChambresResumeApres(long idChambre, Pageable pageable);
+
+    //********************* Import des réservations *********************
+    @Query("select distinct c from Chambre c left join fetch c.reservations where c.numeroChambre in ?1")
+    List<Chambre> getChambresAvecReservationsParNumeros(Collection<Long> numeros);
+
+    //********************* Enregistrement des chambres d'un bloc *********************
+    // Réservations chargées avec les chambres: le merge n'a plus à relire chaque collection
+    @Query("select distinct c from Chambre c left join fetch c.reservations where c.idChambre in ?1")
+    List<Chambre> getChambresAvecReservationsParIds(Collection<Long> ids);
+
+    //********************* Inventaire *********************
+    @Query("select c.bloc.idBloc as idBloc, c.idChambre as idChambre, c.numeroChambre as numeroChambre, c.typeC as typeC " +
+            "from Chambre c where c.bloc.idBloc in ?1")
+    List<ChambreInventaire> getChambresInventaireParBlocs(Collection<Long> idBlocs);
+
+    //********************* Affectation en masse à un bloc *********************
+    // Numéros seulement: l'affectation se fait ensuite par une seule requête update
+    @Query("select c.numeroChambre from Chambre c where c.numeroChambre in ?1")
+    List<Long> findNumerosChambreIn(Collection<Long> numeros);
+
+    @Modifying
+    @Query("update Chambre c set c.bloc = ?1 where c.numeroChambre in ?2")
+    int affecterBloc(Bloc bloc, Collection<Long> numeros);
+
     //*****************************************************************
     Chambre findByReservationsIdReservation(String idReservation);
 
@@ -51,10 +122,58 @@ public interface ChambreRepository extends JpaRepository<Chambre, Long> {
     @Query("select count(c) from Chambre c where c.typeC=?1 and c.bloc.idBloc=?2")
     long select(TypeChambre typeChambre, long idBloc);
 
+    //********************* Statistiques par type *********************
+    // Depuis Bloc pour garder les blocs sans chambre (typeC null)
+    @Query("select b.idBloc as idBloc, c.typeC as typeC, count(c) as nbChambres from Bloc b left join b.chambres c " +
+            "group by b.idBloc, c.typeC")
+    List<NbChambresParType> countChambresParTypeEtBloc();
+
+    @Query("select b.idBloc as idBloc, c.typeC as typeC, count(c) as nbChambres from Bloc b left join b.chambres c " +
+            "where b.idBloc = ?1 group by b.idBloc, c.typeC")
+    List<NbChambresParType> countChambresParTypeDuBloc(long idBloc);
+
+    // Depuis Chambre pour compter aussi les chambres sans bloc (idBloc null)
+    @Query("select c.typeC as typeC, count(c) as nbChambres from Chambre c group by c.typeC")
+    List<NbChambresParType> countChambresParType();
+
+    //********************* Rapport de répartition *********************
+    // count(r): places occupées par les réservations valides de la période; left join sur le bloc pour
+    // garder les chambres sans bloc (idBloc null)
+    @Query("select f.idFoyer as idFoyer, f.nomFoyer as nomFoyer, b.idBloc as idBloc, b.nomBloc as nomBloc, " +
+            "c.typeC as typeC, count(distinct c) as nbChambres, count(r) as nbPlacesOccupees " +
+            "from Chambre c left join c.bloc b left join b.foyer f " +
+            "left join c.reservations r on r.estValide = true and r.anneeUniversitaire between ?1 and ?2 " +
+            "group by f.idFoyer, f.nomFoyer, b.idBloc, b.nomBloc, c.typeC")
+    List<RepartitionChambres> getRepartitionChambres(LocalDate debut, LocalDate fin);
+
     @Query(value = "select count(c) from t_chambre c join t_bloc b " +
             "on b.id_bloc=c.bloc_id_bloc  where c.type_c=?1 and b.id_bloc=?2"
             , nativeQuery = true)
     long selectSQL(TypeChambre typeChambre, long idBloc);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VUE_CHAMBRE + " order by c.idChambre")
+    Stream<ChambreVue> streamVues();
+
+    List<Chambre> findByIdChambreGreaterThanOrderByIdChambre(long idChambre, Pageable pageable);
+
+    //********************* Vues de lecture *********************
+    // Une seule requête par liste: la chambre et son bloc, sans les réservations
+    String VUE_CHAMBRE = "select c.idChambre as idChambre, c.numeroChambre as numeroChambre, c.typeC as typeC, " +
+            "b.idBloc as idBloc, b.nomBloc as nomBloc from Chambre c left join c.bloc b";
+
+    @Query(VUE_CHAMBRE + " order by c.idChambre")
+    List<ChambreVue> findAllVues();
+
+    @Query(value = VUE_CHAMBRE, countQuery = "select count(c) from Chambre c")
+    Page<ChambreVue> findAllVues(Pageable pageable);
+
+    @Query(VUE_CHAMBRE + " where c.idChambre > ?1 order by c.idChambre")
+    List<ChambreVue> findVuesApres(long idChambre, Pageable pageable);
+
+    @Query(VUE_CHAMBRE + " where c.idChambre = ?1")
+    Optional<ChambreVue> findVueById(long idChambre);
 
+    @Query(VUE_CHAMBRE + " where b.nomBloc = ?1 order by c.idChambre")
+    List<ChambreVue> findVuesByNomBloc(String nomBloc);
 }
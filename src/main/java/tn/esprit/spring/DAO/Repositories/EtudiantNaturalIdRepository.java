@@ -0,0 +1,8 @@
+package tn.esprit.spring.DAO.Repositories;
+
+import tn.esprit.spring.DAO.Entities.Etudiant;
+
+// Recherche par identifiant naturel (cin): servie par la session puis le cache de second niveau
+public interface EtudiantNaturalIdRepository {
+    Etudiant chargerParCin(long cin);
+}
@@ -0,0 +1,19 @@
+package tn.esprit.spring.DAO.Repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.Etudiant;
+
+@Transactional(readOnly = true)
+public class EtudiantNaturalIdRepositoryImpl implements EtudiantNaturalIdRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public Etudiant chargerParCin(long cin) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Etudiant.class).load(cin);
+    }
+}
@@ -1,15 +1,24 @@
 package tn.esprit.spring.DAO.Repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import tn.esprit.spring.DAO.Entities.Etudiant;
+import tn.esprit.spring.DAO.Projections.EtudiantVue;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EtudiantRepository extends JpaRepository<Etudiant, Long> {
+public interface EtudiantRepository extends JpaRepository<Etudiant, Long>, EtudiantNaturalIdRepository {
 
     // Afficher la liste des étudiants avec le nom passé en paramétre
     List<Etudiant> findByNomEt(String nom);
@@ -66,6 +75,8 @@ public interface EtudiantRepository extends JpaRepository<Etudiant, Long> {
     //select * from Etudiant where cin=...
     Etudiant findByCin(long cin);
 
+    List<Etudiant> findByCinIn(Collection<Long> cins);
+
     // select * from Etudiant where nomEt like ...
     List<Etudiant> findByNomEtLike(String nom);
 
@@ -73,6 +84,14 @@ public interface EtudiantRepository extends JpaRepository<Etudiant, Long> {
 
     List<Etudiant> findByNomEtContaining(String nom);
 
+    // Variantes paginées par clé (idEtudiant > apres), à appeler avec une taille de page; projetées sur
+    // EtudiantVue: colonnes de l'étudiant seules, les réservations ne sont pas relues à la sérialisation
+    List<EtudiantVue> findByNomEtContainingAndIdEtudiantGreaterThanOrderByIdEtudiant(String nom, long apres, Pageable pageable);
+
+    List<EtudiantVue> findByNomEtLikeAndIdEtudiantGreaterThanOrderByIdEtudiant(String nom, long apres, Pageable pageable);
+
+    List<EtudiantVue> findByDateNaissanceBetweenAndIdEtudiantGreaterThanOrderByIdEtudiant(LocalDate d1, LocalDate d2, long apres, Pageable pageable);
+
     @Query(value = "select e from t_etudiant e " +
             "           join t_reservation_etudiants re on e.id_etudiant=re.etudiants_id_etudiant" +
             "           join t_reservation r on r.id_reservation= re.reservations_id_reservation" +
@@ -87,7 +106,26 @@ public interface EtudiantRepository extends JpaRepository<Etudiant, Long> {
     @Modifying
     void updatesql(@Param("nom") String nom, @Param("id") long id);
 
-}
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VUE_ETUDIANT + " order by e.idEtudiant")
+    Stream<EtudiantVue> streamVues();
 
+    List<Etudiant> findByIdEtudiantGreaterThanOrderByIdEtudiant(long idEtudiant, Pageable pageable);
 
+    //********************* Vues de lecture *********************
+    // Une seule requête par liste: l'étudiant sans ses réservations
+    String VUE_ETUDIANT = "select e.idEtudiant as idEtudiant, e.nomEt as nomEt, e.prenomEt as prenomEt, e.cin as cin, " +
+            "e.ecole as ecole, e.email as email, e.dateNaissance as dateNaissance from Etudiant e";
 
+    @Query(VUE_ETUDIANT + " order by e.idEtudiant")
+    List<EtudiantVue> findAllVues();
+
+    @Query(value = VUE_ETUDIANT, countQuery = "select count(e) from Etudiant e")
+    Page<EtudiantVue> findAllVues(Pageable pageable);
+
+    @Query(VUE_ETUDIANT + " where e.idEtudiant > ?1 order by e.idEtudiant")
+    List<EtudiantVue> findVuesApres(long idEtudiant, Pageable pageable);
+
+    @Query(VUE_ETUDIANT + " where e.idEtudiant = ?1")
+    Optional<EtudiantVue> findVueById(long idEtudiant);
+}
@@ -1,13 +1,22 @@
 package tn.esprit.spring.DAO.Repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import tn.esprit.spring.DAO.Entities.Foyer;
 import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.FoyerVue;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface FoyerRepository extends JpaRepository<Foyer,Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Foyer findByNomFoyer(String nom);
     // select * from Foyer where capaciteFoyer > ....
     List<Foyer> findByCapaciteFoyerGreaterThan(int capacite);
@@ -29,5 +38,29 @@ public interface FoyerRepository extends JpaRepository<Foyer,Long> {
             "=f.idFoyer where b.nomBloc=?1")
     List<Foyer> find(String nomF);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VUE_FOYER + " order by f.idFoyer")
+    Stream<FoyerVue> streamVues();
 
+    List<Foyer> findByIdFoyerGreaterThanOrderByIdFoyer(long idFoyer, Pageable pageable);
+
+    //********************* Vues de lecture *********************
+    // Une seule requête par liste: l'université du foyer (côté non propriétaire, sinon relue foyer par foyer)
+    // et le nombre de blocs au lieu de la collection
+    String VUE_FOYER = "select f.idFoyer as idFoyer, f.nomFoyer as nomFoyer, f.capaciteFoyer as capaciteFoyer, " +
+            "u.idUniversite as idUniversite, u.nomUniversite as nomUniversite, " +
+            "(select count(b) from Bloc b where b.foyer = f) as nbBlocs " +
+            "from Foyer f left join f.universite u";
+
+    @Query(VUE_FOYER + " order by f.idFoyer")
+    List<FoyerVue> findAllVues();
+
+    @Query(value = VUE_FOYER, countQuery = "select count(f) from Foyer f")
+    Page<FoyerVue> findAllVues(Pageable pageable);
+
+    @Query(VUE_FOYER + " where f.idFoyer > ?1 order by f.idFoyer")
+    List<FoyerVue> findVuesApres(long idFoyer, Pageable pageable);
+
+    @Query(VUE_FOYER + " where f.idFoyer = ?1")
+    Optional<FoyerVue> findVueById(long idFoyer);
 }
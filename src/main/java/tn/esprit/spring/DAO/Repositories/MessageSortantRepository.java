@@ -0,0 +1,13 @@
+package tn.esprit.spring.DAO.Repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import tn.esprit.spring.DAO.Entities.MessageSortant;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MessageSortantRepository extends JpaRepository<MessageSortant, Long> {
+    // Prochain lot de messages à envoyer
+    List<MessageSortant> findByProchaineTentativeLessThanEqualOrderByIdMessage(LocalDateTime date, Pageable pageable);
+}
@@ -1,14 +1,71 @@
 package tn.esprit.spring.DAO.Repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 import tn.esprit.spring.DAO.Entities.Reservation;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ReservationRepository extends JpaRepository<Reservation, String> {
     int countByAnneeUniversitaireBetween(LocalDate dateInf, LocalDate dateSup);
     Reservation findByEtudiantsCinAndEstValide(long cin,boolean isValid);
     List<Reservation> findByEstValideAndAnneeUniversitaireBetween(boolean estValide, LocalDate dateDebut, LocalDate dateFin);
 
+    //********************* Annulation en masse *********************
+    @Modifying
+    @Transactional
+    @Query("update Reservation r set r.estValide = false " +
+            "where r.estValide = true and r.anneeUniversitaire between ?1 and ?2")
+    int invaliderReservations(LocalDate dateDebut, LocalDate dateFin);
+
+    @Query("select r.idReservation from Reservation r " +
+            "where r.estValide = true and r.anneeUniversitaire between ?1 and ?2 order by r.idReservation")
+    List<String> findIdsReservationsValides(LocalDate dateDebut, LocalDate dateFin, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("update Reservation r set r.estValide = false where r.idReservation in ?1")
+    int invaliderReservations(Collection<String> ids);
+
+    // Réservations des chambres d'une université (chambre -> bloc -> foyer -> université)
+    String RESERVATIONS_DES_UNIVERSITES = "select cr from Universite u join u.foyer f join f.blocs b " +
+            "join b.chambres c join c.reservations cr where u.nomUniversite in ?1";
+
+    @Modifying
+    @Transactional
+    @Query("update Reservation r set r.estValide = false where r.estValide = true " +
+            "and r.anneeUniversitaire between ?2 and ?3 and r in (" + RESERVATIONS_DES_UNIVERSITES + ")")
+    int invaliderReservationsDesUniversites(Collection<String> nomsUniversites, LocalDate dateDebut, LocalDate dateFin);
+
+    @Query("select r.idReservation from Reservation r where r.estValide = true " +
+            "and r.anneeUniversitaire between ?2 and ?3 and r in (" + RESERVATIONS_DES_UNIVERSITES + ") order by r.idReservation")
+    List<String> findIdsReservationsValidesDesUniversites(Collection<String> nomsUniversites, LocalDate dateDebut,
+                                                          LocalDate dateFin, Pageable pageable);
+
+    // Toutes les autres: autres universités, chambres sans foyer ou sans université, réservations sans chambre
+    @Modifying
+    @Transactional
+    @Query("update Reservation r set r.estValide = false where r.estValide = true " +
+            "and r.anneeUniversitaire between ?2 and ?3 and r not in (" + RESERVATIONS_DES_UNIVERSITES + ")")
+    int invaliderReservationsHorsUniversites(Collection<String> nomsUniversites, LocalDate dateDebut, LocalDate dateFin);
+
+    @Query("select r.idReservation from Reservation r where r.estValide = true " +
+            "and r.anneeUniversitaire between ?2 and ?3 and r not in (" + RESERVATIONS_DES_UNIVERSITES + ") order by r.idReservation")
+    List<String> findIdsReservationsValidesHorsUniversites(Collection<String> nomsUniversites, LocalDate dateDebut,
+                                                           LocalDate dateFin, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select r from Reservation r")
+    Stream<Reservation> streamAll();
+
+    List<Reservation> findByIdReservationGreaterThanOrderByIdReservation(String idReservation, Pageable pageable);
 }
@@ -1,16 +1,49 @@
 package tn.esprit.spring.DAO.Repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import tn.esprit.spring.DAO.Entities.Universite;
+import tn.esprit.spring.DAO.Projections.UniversiteVue;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UniversiteRepository extends JpaRepository<Universite, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Universite findByNomUniversite(String nomUniversite);
     // Afficher la liste des universités qui ont des étudiants dont leurs noms contiennet
     // la chaine de caractère en paramètre et leurs dates de naissance entre deux dates
     // passées en paramètre
     List<Universite> findByFoyerBlocsChambresReservationsEtudiantsNomEtLikeAndFoyerBlocsChambresReservationsEtudiantsDateNaissanceBetween(String nom, LocalDate date1, LocalDate date2);
     List<Universite> findByFoyerCapaciteFoyerLessThan(long u);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VUE_UNIVERSITE + " order by u.idUniversite")
+    Stream<UniversiteVue> streamVues();
+
+    List<Universite> findByIdUniversiteGreaterThanOrderByIdUniversite(long idUniversite, Pageable pageable);
+
+    //********************* Vues de lecture *********************
+    // Une seule requête par liste: l'université et son foyer, sans les blocs du foyer
+    String VUE_UNIVERSITE = "select u.idUniversite as idUniversite, u.nomUniversite as nomUniversite, u.adresse as adresse, " +
+            "f.idFoyer as idFoyer, f.nomFoyer as nomFoyer from Universite u left join u.foyer f";
+
+    @Query(VUE_UNIVERSITE + " order by u.idUniversite")
+    List<UniversiteVue> findAllVues();
+
+    @Query(value = VUE_UNIVERSITE, countQuery = "select count(u) from Universite u")
+    Page<UniversiteVue> findAllVues(Pageable pageable);
+
+    @Query(VUE_UNIVERSITE + " where u.idUniversite > ?1 order by u.idUniversite")
+    List<UniversiteVue> findVuesApres(long idUniversite, Pageable pageable);
+
+    @Query(VUE_UNIVERSITE + " where u.idUniversite = ?1")
+    Optional<UniversiteVue> findVueById(long idUniversite);
 }
@@ -0,0 +1,4 @@
+package tn.esprit.spring.Generateur;
+
+public record BilanGeneration(long universites, long blocs, long chambres, long etudiants, long reservations) {
+}
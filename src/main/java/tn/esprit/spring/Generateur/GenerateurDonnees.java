@@ -0,0 +1,194 @@
+package tn.esprit.spring.Generateur;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.Services.AnneeUniversitaire.IAnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.PeriodeAU;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Jeu de données synthétique pour les tests de charge et les benchmarks.
+// Insertions JDBC par lots, sans garder les lignes en mémoire: chaque chambre est écrite
+// avec ses réservations, les lots étant vidés dans l'ordre des clés étrangères.
+// Identifiants explicites (1..n), numéro de chambre = id, cin = PREMIER_CIN + id.
+@Component
+@AllArgsConstructor
+@Slf4j
+public class GenerateurDonnees {
+    public static final long PREMIER_CIN = 10_000_000L;
+
+    JdbcTemplate jdbcTemplate;
+    IAnneeUniversitaireService anneeUniversitaire;
+
+    public BilanGeneration generer(ParametresGenerateur p) {
+        preparerBase(p.isVider());
+        Random random = new Random(p.getGraine());
+        int nbBlocs = p.getNbUniversites() * p.getBlocsParFoyer();
+
+        List<Object[]> lignes = new ArrayList<>();
+        for (int f = 1; f <= p.getNbUniversites(); f++) {
+            lignes.add(new Object[]{f, nomFoyer(f), (long) p.getBlocsParFoyer() * p.getChambresParBloc() * 3});
+        }
+        jdbcTemplate.batchUpdate("insert into t_foyer (id_foyer, nom_foyer, capacite_foyer) values (?, ?, ?)", lignes);
+        lignes.clear();
+        for (int u = 1; u <= p.getNbUniversites(); u++) {
+            lignes.add(new Object[]{u, "Universite " + u, "Adresse " + u, u});
+        }
+        jdbcTemplate.batchUpdate("insert into t_universite (id_universite, nom_universite, adresse, foyer_id_foyer) values (?, ?, ?, ?)", lignes);
+
+        Lots blocs = new Lots("insert into t_bloc (id_bloc, nom_bloc, capacite_bloc, foyer_id_foyer) values (?, ?, ?, ?)", p.getTailleLot());
+        for (int b = 1; b <= nbBlocs; b++) {
+            blocs.ajouter(b, nomBloc(b), p.getChambresParBloc(), (b - 1) / p.getBlocsParFoyer() + 1);
+        }
+        blocs.vider();
+
+        Lots etudiants = new Lots("insert into t_etudiant (id_etudiant, cin, nom_et, prenom_et, ecole, date_naissance) values (?, ?, ?, ?, ?, ?)",
+                p.getTailleLot());
+        LocalDate naissanceMin = LocalDate.of(1995, 1, 1);
+        for (int e = 1; e <= p.getNbEtudiants(); e++) {
+            etudiants.ajouter(e, PREMIER_CIN + e, "Nom" + e, "Prenom" + e, "Ecole " + (e % 20 + 1),
+                    naissanceMin.plusDays(random.nextInt(12 * 365)));
+        }
+        etudiants.vider();
+
+        long nbReservations = genererChambres(p, random, nbBlocs);
+        BilanGeneration bilan = new BilanGeneration(p.getNbUniversites(), nbBlocs,
+                (long) nbBlocs * p.getChambresParBloc(), p.getNbEtudiants(), nbReservations);
+        log.info("Jeu de données généré: " + bilan);
+        return bilan;
+    }
+
+    // Chambres puis, pour chaque année universitaire, chaque place réservée avec la probabilité tauxOccupation
+    private long genererChambres(ParametresGenerateur p, Random random, int nbBlocs) {
+        TypeChambre[] types = TypeChambre.values();
+        double[] cumul = cumul(p, types);
+        // Périodes des cours, de la plus ancienne à l'année en cours
+        PeriodeAU courante = anneeUniversitaire.courante();
+        PeriodeAU[] annees = new PeriodeAU[Math.max(p.getNbAnnees(), 0)];
+        for (int a = 0; a < annees.length; a++) {
+            int decalage = annees.length - 1 - a;
+            annees[a] = new PeriodeAU(courante.debut().minusYears(decalage), courante.fin().minusYears(decalage));
+        }
+        // Lots vidés ensemble, pour insérer une chambre avant ses réservations et une réservation avant ses liens
+        Lots chambres = new Lots("insert into t_chambre (id_chambre, numero_chambre, typec, bloc_id_bloc) values (?, ?, ?, ?)", 0);
+        Lots reservations = new Lots("insert into t_reservation (id_reservation, annee_universitaire, est_valide) values (?, ?, ?)", 0);
+        Lots liensChambre = new Lots("insert into t_chambre_reservations (chambre_id_chambre, reservations_id_reservation) values (?, ?)", 0);
+        Lots liensEtudiant = new Lots("insert into t_reservation_etudiants (reservations_id_reservation, etudiants_id_etudiant) values (?, ?)", 0);
+        long nbChambres = (long) nbBlocs * p.getChambresParBloc();
+        long etudiant = 0;
+        long nbReservations = 0;
+        for (long c = 1; c <= nbChambres; c++) {
+            TypeChambre type = tirer(types, cumul, random.nextDouble());
+            long bloc = (c - 1) / p.getChambresParBloc() + 1;
+            chambres.ajouter(c, c, type.name(), bloc);
+            for (int a = 0; a < annees.length && p.getNbEtudiants() > 0; a++) {
+                PeriodeAU annee = annees[a];
+                int duree = (int) ChronoUnit.DAYS.between(annee.debut(), annee.fin()) + 1;
+                for (int place = 0; place < type.getCapacite(); place++) {
+                    if (random.nextDouble() >= p.getTauxOccupation()) {
+                        continue;
+                    }
+                    long idEtudiant = etudiant++ % p.getNbEtudiants() + 1;
+                    // Même format d'identifiant que ReservationService
+                    String id = annee.libelle() + "-" + nomBloc(bloc) + "-" + c + "-" + (PREMIER_CIN + idEtudiant);
+                    reservations.ajouter(id, annee.debut().plusDays(random.nextInt(duree)), a == annees.length - 1);
+                    liensChambre.ajouter(c, id);
+                    liensEtudiant.ajouter(id, idEtudiant);
+                    nbReservations++;
+                }
+            }
+            if (chambres.enAttente() >= p.getTailleLot() || reservations.enAttente() >= p.getTailleLot()) {
+                chambres.vider();
+                reservations.vider();
+                liensChambre.vider();
+                liensEtudiant.vider();
+            }
+        }
+        chambres.vider();
+        reservations.vider();
+        liensChambre.vider();
+        liensEtudiant.vider();
+        return nbReservations;
+    }
+
+    private void preparerBase(boolean vider) {
+        if (vider) {
+            for (String table : List.of("t_reservation_etudiants", "t_chambre_reservations", "t_reservation", "t_etudiant",
+                    "t_chambre", "t_bloc", "t_universite", "t_foyer")) {
+                jdbcTemplate.update("delete from " + table);
+            }
+        } else if (jdbcTemplate.queryForObject("select count(*) from t_foyer", Long.class) > 0) {
+            throw new IllegalStateException("Base non vide: relancer avec foyer.generateur.vider=true pour la remplacer");
+        }
+    }
+
+    private static double[] cumul(ParametresGenerateur p, TypeChambre[] types) {
+        double[] cumul = new double[types.length];
+        double total = 0;
+        for (int i = 0; i < types.length; i++) {
+            total += p.getRepartitionTypes().getOrDefault(types[i], 0.0);
+            cumul[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("foyer.generateur.repartition-types: au moins un poids positif attendu");
+        }
+        for (int i = 0; i < types.length; i++) {
+            cumul[i] /= total;
+        }
+        return cumul;
+    }
+
+    private static TypeChambre tirer(TypeChambre[] types, double[] cumul, double tirage) {
+        for (int i = 0; i < types.length - 1; i++) {
+            if (tirage < cumul[i]) {
+                return types[i];
+            }
+        }
+        return types[types.length - 1];
+    }
+
+    public static String nomFoyer(long idFoyer) {
+        return "Foyer " + idFoyer;
+    }
+
+    public static String nomBloc(long idBloc) {
+        return "Bloc " + idBloc;
+    }
+
+    // Lignes en attente pour une même requête, envoyées par batchUpdate (automatiquement si taille > 0)
+    private class Lots {
+        private final String sql;
+        private final int taille;
+        private final List<Object[]> lignes = new ArrayList<>();
+
+        Lots(String sql, int taille) {
+            this.sql = sql;
+            this.taille = taille;
+        }
+
+        void ajouter(Object... ligne) {
+            lignes.add(ligne);
+            if (taille > 0 && lignes.size() >= taille) {
+                vider();
+            }
+        }
+
+        int enAttente() {
+            return lignes.size();
+        }
+
+        void vider() {
+            if (!lignes.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, lignes);
+                lignes.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package tn.esprit.spring.Generateur;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// mvn spring-boot:run -Dspring-boot.run.profiles=generateur
+// Remplit la base configurée puis arrête l'application (voir application-generateur.properties)
+@Component
+@Profile("generateur")
+@AllArgsConstructor
+public class LanceurGenerateur implements ApplicationRunner {
+
+    GenerateurDonnees generateurDonnees;
+    ParametresGenerateur parametres;
+    ConfigurableApplicationContext contexte;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generateurDonnees.generer(parametres);
+        System.exit(SpringApplication.exit(contexte));
+    }
+}
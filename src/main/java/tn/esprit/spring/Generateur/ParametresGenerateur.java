@@ -0,0 +1,41 @@
+package tn.esprit.spring.Generateur;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Volumes et distributions du jeu de données synthétique (foyer.generateur.*).
+// Les valeurs par défaut donnent ~100k chambres, 1M étudiants et ~1M réservations.
+@Component
+@ConfigurationProperties(prefix = "foyer.generateur")
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ParametresGenerateur {
+    // Même graine et mêmes paramètres: exactement les mêmes lignes
+    long graine = 42;
+    // Une université par foyer
+    int nbUniversites = 200;
+    int blocsParFoyer = 10;
+    int chambresParBloc = 50;
+    int nbEtudiants = 1_000_000;
+    // Poids relatifs des types de chambre, normalisés à la génération
+    Map<TypeChambre, Double> repartitionTypes = new EnumMap<>(Map.of(
+            TypeChambre.SIMPLE, 0.3,
+            TypeChambre.DOUBLE, 0.5,
+            TypeChambre.TRIPLE, 0.2));
+    // Probabilité qu'une place soit réservée pendant une année universitaire
+    double tauxOccupation = 0.8;
+    // Années universitaires réservées, la dernière étant l'année en cours (seule à réservations valides)
+    int nbAnnees = 7;
+    int tailleLot = 1000;
+    // Vide les tables avant la génération au lieu de refuser une base non vide
+    boolean vider = false;
+}
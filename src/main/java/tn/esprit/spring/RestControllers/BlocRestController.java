@@ -1,8 +1,15 @@
 package tn.esprit.spring.RestControllers;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tn.esprit.spring.DAO.Entities.Bloc;
+import tn.esprit.spring.DAO.Projections.BlocVue;
+import tn.esprit.spring.Services.Bloc.AffectationChambres;
 import tn.esprit.spring.Services.Bloc.IBlocService;
 
 import java.util.List;
@@ -12,20 +19,38 @@ import java.util.List;
 @AllArgsConstructor
 public class BlocRestController {
     IBlocService service;
+    ExportNdjson exportNdjson;
 
     @PostMapping("addOrUpdate")
     Bloc addOrUpdate(@RequestBody Bloc b) {
         return service.addOrUpdate(b);
     }
 
+    // Lectures: vues projetées (une requête par liste), pas les entités et leurs associations
     @GetMapping("findAll")
-    List<Bloc> findAll() {
-        return service.findAll();
+    List<BlocVue> findAll() {
+        return service.findAllVues();
+    }
+
+    @GetMapping("findAllPage")
+    Page<BlocVue> findAllPage(Pageable pageable) {
+        return service.findAllVues(pageable);
+    }
+
+    @GetMapping("findAllApres")
+    List<BlocVue> findAllApres(@RequestParam(defaultValue = "0") long apres, @PageableDefault(size = 50) Pageable pageable) {
+        return service.findAllVuesApres(apres, pageable.getPageSize());
+    }
+
+    // Export de toute la table en NDJSON (une ligne JSON par ligne de la table, sans les associations)
+    @GetMapping("export")
+    ResponseEntity<StreamingResponseBody> export() {
+        return exportNdjson.exporter(service::streamVues);
     }
 
     @GetMapping("findById")
-    Bloc findById(@RequestParam long id) {
-        return service.findById(id);
+    BlocVue findById(@RequestParam long id) {
+        return service.findVueById(id);
     }
 
     @DeleteMapping("delete")
@@ -42,6 +67,12 @@ public class BlocRestController {
     Bloc affecterChambresABloc(@RequestBody List<Long> numChambre, @RequestParam String nomBloc) {
         return service.affecterChambresABloc(numChambre, nomBloc);
     }
+
+    // Même affectation, avec le nombre de chambres affectées et les numéros inconnus
+    @PutMapping("affecterChambres")
+    AffectationChambres affecterChambres(@RequestBody List<Long> numChambre, @RequestParam String nomBloc) {
+        return service.affecterChambres(numChambre, nomBloc);
+    }
     // ...............?nomFoyer=....&nomBloc=....
     @PutMapping("affecterBlocAFoyer")
     Bloc affecterBlocAFoyer(@RequestParam String nomBloc, @RequestParam String nomFoyer) {
@@ -1,32 +1,64 @@
 package tn.esprit.spring.RestControllers;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tn.esprit.spring.DAO.Entities.Chambre;
 import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.ChambreVue;
 import tn.esprit.spring.Services.Chambre.IChambreService;
+import tn.esprit.spring.Services.Chambre.IRapportChambreService;
+import tn.esprit.spring.Services.Chambre.IStatistiquesChambreService;
+import tn.esprit.spring.Services.Chambre.PlacesDisponibles;
+import tn.esprit.spring.Services.Chambre.RapportRepartition;
+import tn.esprit.spring.Services.PageCurseur;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("chambre")
 @AllArgsConstructor
 public class ChambreRestController {
     IChambreService service;
+    IStatistiquesChambreService statistiquesChambreService;
+    IRapportChambreService rapportChambreService;
+    ExportNdjson exportNdjson;
 
     @PostMapping("addOrUpdate")
     Chambre addOrUpdate(@RequestBody Chambre c) {
         return service.addOrUpdate(c);
     }
 
+    // Lectures: vues projetées (une requête par liste), pas les entités et leurs associations
     @GetMapping("findAll")
-    List<Chambre> findAll() {
-        return service.findAll();
+    List<ChambreVue> findAll() {
+        return service.findAllVues();
+    }
+
+    @GetMapping("findAllPage")
+    Page<ChambreVue> findAllPage(Pageable pageable) {
+        return service.findAllVues(pageable);
+    }
+
+    @GetMapping("findAllApres")
+    List<ChambreVue> findAllApres(@RequestParam(defaultValue = "0") long apres, @PageableDefault(size = 50) Pageable pageable) {
+        return service.findAllVuesApres(apres, pageable.getPageSize());
+    }
+
+    // Export de toute la table en NDJSON (une ligne JSON par ligne de la table, sans les associations)
+    @GetMapping("export")
+    ResponseEntity<StreamingResponseBody> export() {
+        return exportNdjson.exporter(service::streamVues);
     }
 
     @GetMapping("findById")
-    Chambre findById(@RequestParam long id) {
-        return service.findById(id);
+    ChambreVue findById(@RequestParam long id) {
+        return service.findVueById(id);
     }
 
     @DeleteMapping("delete")
@@ -40,8 +72,8 @@ public class ChambreRestController {
     }
 
     @GetMapping("getChambresParNomBloc")
-    public List<Chambre> getChambresParNomBloc(@RequestParam String nomBloc) {
-        return service.getChambresParNomBloc(nomBloc);
+    public List<ChambreVue> getChambresParNomBloc(@RequestParam String nomBloc) {
+        return service.getVuesParNomBloc(nomBloc);
     }
 
     @GetMapping("nbChambreParTypeEtBloc")
@@ -49,8 +81,32 @@ public class ChambreRestController {
         return service.nbChambreParTypeEtBloc(type, idBloc);
     }
 
+    // Nombre de chambres par type d'un bloc, ou de tous les blocs (idBloc -> type -> nombre)
+    @GetMapping("nbChambresParType")
+    Map<TypeChambre, Long> nbChambresParType(@RequestParam long idBloc) {
+        return statistiquesChambreService.nbChambresParType(idBloc);
+    }
+
+    @GetMapping("nbChambresParTypeEtBloc")
+    Map<Long, Map<TypeChambre, Long>> nbChambresParTypeEtBloc() {
+        return statistiquesChambreService.nbChambresParTypeEtBloc();
+    }
+
+    // Places restantes de l'AU en cours, par pages de chambres: renvoyer curseurSuivant dans apres
+    @GetMapping("placesDisponibles")
+    PageCurseur<PlacesDisponibles> placesDisponibles(@RequestParam(defaultValue = "0") long apres,
+                                                     @PageableDefault(size = 100) Pageable pageable) {
+        return service.placesDisponibles(apres, pageable.getPageSize());
+    }
+
+    // Répartition et occupation par foyer, bloc et type (dernier calcul, rafraîchi périodiquement)
+    @GetMapping("rapportRepartition")
+    RapportRepartition rapportRepartition() {
+        return rapportChambreService.rapport();
+    }
+
     @GetMapping("getChambresNonReserveParNomFoyerEtTypeChambre")
-    List<Chambre> getChambresNonReserveParNomFoyerEtTypeChambre(@RequestParam String nomFoyer,@RequestParam TypeChambre type){
+    List<ChambreVue> getChambresNonReserveParNomFoyerEtTypeChambre(@RequestParam String nomFoyer,@RequestParam TypeChambre type){
         return service.getChambresNonReserveParNomFoyerEtTypeChambre(nomFoyer,type);
     }
 }
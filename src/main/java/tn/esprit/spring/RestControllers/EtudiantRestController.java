@@ -1,10 +1,18 @@
 package tn.esprit.spring.RestControllers;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tn.esprit.spring.DAO.Entities.Etudiant;
+import tn.esprit.spring.DAO.Projections.EtudiantVue;
 import tn.esprit.spring.Services.Etudiant.IEtudiantService;
+import tn.esprit.spring.Services.PageCurseur;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -12,20 +20,38 @@ import java.util.List;
 @AllArgsConstructor
 public class EtudiantRestController {
     IEtudiantService service;
+    ExportNdjson exportNdjson;
 
     @PostMapping("addOrUpdate")
     Etudiant addOrUpdate(@RequestBody Etudiant e) {
         return service.addOrUpdate(e);
     }
 
+    // Lectures: vues projetées (une requête par liste), pas les entités et leurs réservations
     @GetMapping("findAll")
-    List<Etudiant> findAll() {
-        return service.findAll();
+    List<EtudiantVue> findAll() {
+        return service.findAllVues();
+    }
+
+    @GetMapping("findAllPage")
+    Page<EtudiantVue> findAllPage(Pageable pageable) {
+        return service.findAllVues(pageable);
+    }
+
+    @GetMapping("findAllApres")
+    List<EtudiantVue> findAllApres(@RequestParam(defaultValue = "0") long apres, @PageableDefault(size = 50) Pageable pageable) {
+        return service.findAllVuesApres(apres, pageable.getPageSize());
+    }
+
+    // Export de toute la table en NDJSON (une ligne JSON par ligne de la table, sans les associations)
+    @GetMapping("export")
+    ResponseEntity<StreamingResponseBody> export() {
+        return exportNdjson.exporter(service::streamVues);
     }
 
     @GetMapping("findById")
-    Etudiant findById(@RequestParam long id) {
-        return service.findById(id);
+    EtudiantVue findById(@RequestParam long id) {
+        return service.findVueById(id);
     }
 
     @DeleteMapping("delete")
@@ -42,4 +68,24 @@ public class EtudiantRestController {
     List<Etudiant> selectJPQL(@RequestParam String nom){
         return service.selectJPQL(nom);
     }
+
+    // Recherches paginées par clé: renvoyer curseurSuivant dans apres pour la page suivante
+    @GetMapping("rechercherParNom")
+    PageCurseur<EtudiantVue> rechercherParNom(@RequestParam String nom, @RequestParam(defaultValue = "0") long apres,
+                                              @PageableDefault(size = 50) Pageable pageable) {
+        return service.rechercherParNom(nom, apres, pageable.getPageSize());
+    }
+
+    @GetMapping("rechercherParNomLike")
+    PageCurseur<EtudiantVue> rechercherParNomLike(@RequestParam String motif, @RequestParam(defaultValue = "0") long apres,
+                                                  @PageableDefault(size = 50) Pageable pageable) {
+        return service.rechercherParNomLike(motif, apres, pageable.getPageSize());
+    }
+
+    @GetMapping("rechercherParDateNaissance")
+    PageCurseur<EtudiantVue> rechercherParDateNaissance(@RequestParam LocalDate d1, @RequestParam LocalDate d2,
+                                                        @RequestParam(defaultValue = "0") long apres,
+                                                        @PageableDefault(size = 50) Pageable pageable) {
+        return service.rechercherParDateNaissance(d1, d2, apres, pageable.getPageSize());
+    }
 }
@@ -0,0 +1,70 @@
+package tn.esprit.spring.RestControllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Export NDJSON (un objet JSON par ligne) à partir d'un Stream de repository:
+// les lignes sont écrites au fil de la lecture et le contexte de persistance est vidé
+// régulièrement, la mémoire reste donc constante quelle que soit la taille de la table.
+// Les méthodes streamVues/streamAll des repositories portent un fetch size (HINT_FETCH_SIZE) pour que
+// le driver lise par lots au lieu de charger tout le résultat; les vues sont lues en une seule requête.
+@Component
+public class ExportNdjson {
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final int TAILLE_LOT = 500;
+
+    private final ObjectWriter writer;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportNdjson(ObjectMapper objectMapper, EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        // Jackson ne doit pas fermer la réponse HTTP après chaque ligne
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> exporter(Supplier<Stream<T>> source) {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(out -> ecrire(source, out));
+    }
+
+    public <T> long ecrire(Supplier<Stream<T>> source, OutputStream out) {
+        Long total = transactionTemplate.execute(status -> {
+            long n = 0;
+            try (Stream<T> stream = source.get()) {
+                Iterator<T> it = stream.iterator();
+                while (it.hasNext()) {
+                    writer.writeValue(out, it.next());
+                    out.write('\n');
+                    if (++n % TAILLE_LOT == 0) {
+                        entityManager.clear();
+                        out.flush();
+                    }
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return n;
+        });
+        return total == null ? 0 : total;
+    }
+}
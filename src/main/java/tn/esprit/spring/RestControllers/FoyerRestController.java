@@ -1,10 +1,16 @@
 package tn.esprit.spring.RestControllers;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tn.esprit.spring.DAO.Entities.Etudiant;
 import tn.esprit.spring.DAO.Entities.Foyer;
 import tn.esprit.spring.DAO.Entities.Universite;
+import tn.esprit.spring.DAO.Projections.FoyerVue;
 import tn.esprit.spring.Services.Etudiant.IEtudiantService;
 import tn.esprit.spring.Services.Foyer.IFoyerService;
 
@@ -15,20 +21,38 @@ import java.util.List;
 @AllArgsConstructor
 public class FoyerRestController {
     IFoyerService service;
+    ExportNdjson exportNdjson;
 
     @PostMapping("addOrUpdate")
     Foyer addOrUpdate(@RequestBody Foyer f) {
         return service.addOrUpdate(f);
     }
 
+    // Lectures: vues projetées (une requête par liste), pas les entités et leurs associations
     @GetMapping("findAll")
-    List<Foyer> findAll() {
-        return service.findAll();
+    List<FoyerVue> findAll() {
+        return service.findAllVues();
+    }
+
+    @GetMapping("findAllPage")
+    Page<FoyerVue> findAllPage(Pageable pageable) {
+        return service.findAllVues(pageable);
+    }
+
+    @GetMapping("findAllApres")
+    List<FoyerVue> findAllApres(@RequestParam(defaultValue = "0") long apres, @PageableDefault(size = 50) Pageable pageable) {
+        return service.findAllVuesApres(apres, pageable.getPageSize());
+    }
+
+    // Export de toute la table en NDJSON (une ligne JSON par ligne de la table, sans les associations)
+    @GetMapping("export")
+    ResponseEntity<StreamingResponseBody> export() {
+        return exportNdjson.exporter(service::streamVues);
     }
 
     @GetMapping("findById")
-    Foyer findById(@RequestParam long id) {
-        return service.findById(id);
+    FoyerVue findById(@RequestParam long id) {
+        return service.findVueById(id);
     }
 
     @DeleteMapping("delete")
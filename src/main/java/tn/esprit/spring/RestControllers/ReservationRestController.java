@@ -1,12 +1,25 @@
 package tn.esprit.spring.RestControllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tn.esprit.spring.DAO.Entities.Reservation;
 import tn.esprit.spring.DAO.Entities.Universite;
+import tn.esprit.spring.Services.Reservation.IImportReservationService;
 import tn.esprit.spring.Services.Reservation.IReservationService;
 import tn.esprit.spring.Services.Universite.IUniversiteService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -15,6 +28,9 @@ import java.util.List;
 @AllArgsConstructor
 public class ReservationRestController {
     IReservationService service;
+    IImportReservationService importService;
+    ExportNdjson exportNdjson;
+    ObjectMapper objectMapper;
 
     @PostMapping("addOrUpdate")
     Reservation addOrUpdate(@RequestBody Reservation r) {
@@ -26,6 +42,22 @@ public class ReservationRestController {
         return service.findAll();
     }
 
+    @GetMapping("findAllPage")
+    Page<Reservation> findAllPage(Pageable pageable) {
+        return service.findAll(pageable);
+    }
+
+    @GetMapping("findAllApres")
+    List<Reservation> findAllApres(@RequestParam(defaultValue = "") String apres, @PageableDefault(size = 50) Pageable pageable) {
+        return service.findAllApres(apres, pageable.getPageSize());
+    }
+
+    // Export de toute la table en NDJSON (une ligne JSON par entité)
+    @GetMapping("export")
+    ResponseEntity<StreamingResponseBody> export() {
+        return exportNdjson.exporter(service::streamAll);
+    }
+
     // ......... ?id=1
     @GetMapping("findById")
     Reservation findById(@RequestParam String id) {
@@ -53,6 +85,23 @@ public class ReservationRestController {
         return service.ajouterReservationEtAssignerAChambreEtAEtudiant(numChambre, cin);
     }
 
+    // [{"numChambre": 101, "cin": 12345678}, ...]: corps lu en flux, résultats écrits (tableau JSON) lot par lot
+    @PostMapping(value = "importerReservations", consumes = MediaType.APPLICATION_JSON_VALUE)
+    void importerReservations(InputStream corps, HttpServletResponse reponse) throws IOException {
+        reponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator sortie = objectMapper.createGenerator(reponse.getOutputStream())) {
+            sortie.writeStartArray();
+            importService.importerReservations(corps, resultat -> {
+                try {
+                    sortie.writeObject(resultat);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            sortie.writeEndArray();
+        }
+    }
+
     @GetMapping("getReservationParAnneeUniversitaire")
     long getReservationParAnneeUniversitaire(@RequestParam LocalDate debutAnnee, @RequestParam LocalDate finAnnee) {
         return service.getReservationParAnneeUniversitaire(debutAnnee, finAnnee);
@@ -1,9 +1,15 @@
 package tn.esprit.spring.RestControllers;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tn.esprit.spring.DAO.Entities.Foyer;
 import tn.esprit.spring.DAO.Entities.Universite;
+import tn.esprit.spring.DAO.Projections.UniversiteVue;
 import tn.esprit.spring.Services.Foyer.IFoyerService;
 import tn.esprit.spring.Services.Universite.IUniversiteService;
 
@@ -14,20 +20,38 @@ import java.util.List;
 @AllArgsConstructor
 public class UniversiteRestController {
     IUniversiteService service;
+    ExportNdjson exportNdjson;
 
     @PostMapping("addOrUpdate")
     Universite addOrUpdate(@RequestBody Universite u) {
         return service.addOrUpdate(u);
     }
 
+    // Lectures: vues projetées (une requête par liste), pas les entités et leurs associations
     @GetMapping("findAll")
-    List<Universite> findAll() {
-        return service.findAll();
+    List<UniversiteVue> findAll() {
+        return service.findAllVues();
+    }
+
+    @GetMapping("findAllPage")
+    Page<UniversiteVue> findAllPage(Pageable pageable) {
+        return service.findAllVues(pageable);
+    }
+
+    @GetMapping("findAllApres")
+    List<UniversiteVue> findAllApres(@RequestParam(defaultValue = "0") long apres, @PageableDefault(size = 50) Pageable pageable) {
+        return service.findAllVuesApres(apres, pageable.getPageSize());
+    }
+
+    // Export de toute la table en NDJSON (une ligne JSON par ligne de la table, sans les associations)
+    @GetMapping("export")
+    ResponseEntity<StreamingResponseBody> export() {
+        return exportNdjson.exporter(service::streamVues);
     }
 
     @GetMapping("findById")
-    Universite findById(@RequestParam long id) {
-        return service.findById(id);
+    UniversiteVue findById(@RequestParam long id) {
+        return service.findVueById(id);
     }
 
     @DeleteMapping("delete")
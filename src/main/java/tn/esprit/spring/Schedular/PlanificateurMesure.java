@@ -0,0 +1,202 @@
+package tn.esprit.spring.Schedular;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Enveloppe le planificateur des @Scheduled: chaque exécution est mesurée (durée, retard sur l'heure prévue,
+// dépassement de la prochaine échéance), ignorée si la tâche est désactivée par propriété
+// (foyer.planification.taches.<Classe>.<methode>.active=false) ou si une exécution du même nom est en cours.
+@Slf4j
+public class PlanificateurMesure implements TaskScheduler {
+    public static final String TIMER_EXECUTION = "foyer.planification.execution";
+    public static final String TIMER_RETARD = "foyer.planification.retard";
+    public static final String COMPTEUR_DEPASSEMENTS = "foyer.planification.depassements";
+    public static final String COMPTEUR_IGNOREES = "foyer.planification.ignorees";
+    static final String PREFIXE_PROPRIETES = "foyer.planification.taches.";
+
+    private final TaskScheduler delegue;
+    private final MeterRegistry registry;
+    private final Environment environment;
+    // Par nom de tâche: une même méthode planifiée deux fois ne s'exécute pas en parallèle
+    private final Map<String, AtomicBoolean> enCours = new ConcurrentHashMap<>();
+
+    private enum Mode { DECLENCHEUR, CADENCE_FIXE, DELAI_FIXE, UNIQUE }
+
+    public PlanificateurMesure(TaskScheduler delegue, MeterRegistry registry, Environment environment) {
+        this.delegue = delegue;
+        this.registry = registry;
+        this.environment = environment;
+    }
+
+    public static String nom(Runnable tache) {
+        if (tache instanceof ScheduledMethodRunnable m) {
+            return AopUtils.getTargetClass(m.getTarget()).getSimpleName() + "." + m.getMethod().getName();
+        }
+        return tache.getClass().getSimpleName();
+    }
+
+    @Override
+    public Clock getClock() {
+        return delegue.getClock();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        Tache tache = new Tache(task, Mode.DECLENCHEUR, null, trigger);
+        // Heure prévue de chaque exécution: celle calculée par le déclencheur
+        return delegue.schedule(tache, contexte -> tache.attendue = trigger.nextExecution(contexte));
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+        Tache tache = new Tache(task, Mode.UNIQUE, null, null);
+        tache.attendue = startTime;
+        return delegue.schedule(tache, startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+        Tache tache = new Tache(task, Mode.CADENCE_FIXE, period, null);
+        tache.attendue = startTime;
+        return delegue.scheduleAtFixedRate(tache, startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        Tache tache = new Tache(task, Mode.CADENCE_FIXE, period, null);
+        tache.attendue = getClock().instant();
+        return delegue.scheduleAtFixedRate(tache, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+        Tache tache = new Tache(task, Mode.DELAI_FIXE, delay, null);
+        tache.attendue = startTime;
+        return delegue.scheduleWithFixedDelay(tache, startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+        Tache tache = new Tache(task, Mode.DELAI_FIXE, delay, null);
+        tache.attendue = getClock().instant();
+        return delegue.scheduleWithFixedDelay(tache, delay);
+    }
+
+    private class Tache implements Runnable {
+        final Runnable tache;
+        final String nom;
+        final Mode mode;
+        final Duration periode;
+        final Trigger trigger;
+        final Timer succes;
+        final Timer erreur;
+        final Timer retard;
+        final Counter depassements;
+        final Counter desactivee;
+        final Counter dejaEnCours;
+        final AtomicBoolean verrou;
+        // Début prévu de la prochaine exécution, null s'il n'est pas connu
+        volatile Instant attendue;
+
+        Tache(Runnable tache, Mode mode, Duration periode, Trigger trigger) {
+            this.tache = tache;
+            this.nom = nom(tache);
+            this.mode = mode;
+            this.periode = periode;
+            this.trigger = trigger;
+            this.succes = timerExecution("succes");
+            this.erreur = timerExecution("erreur");
+            this.retard = Timer.builder(TIMER_RETARD).description("Retard du début d'exécution sur l'heure prévue")
+                    .tag("tache", nom).register(registry);
+            this.depassements = Counter.builder(COMPTEUR_DEPASSEMENTS)
+                    .description("Exécutions terminées après l'échéance suivante").tag("tache", nom).register(registry);
+            this.desactivee = compteurIgnorees("desactivee");
+            this.dejaEnCours = compteurIgnorees("en_cours");
+            this.verrou = enCours.computeIfAbsent(nom, n -> new AtomicBoolean());
+        }
+
+        @Override
+        public void run() {
+            Instant debut = getClock().instant();
+            Instant prevue = attendue;
+            if (!environment.getProperty(PREFIXE_PROPRIETES + nom + ".active", Boolean.class, true)) {
+                desactivee.increment();
+                avancer(prevue, debut);
+                return;
+            }
+            if (!verrou.compareAndSet(false, true)) {
+                log.warn("Tâche planifiée {} déjà en cours, exécution ignorée", nom);
+                dejaEnCours.increment();
+                avancer(prevue, debut);
+                return;
+            }
+            if (prevue != null) {
+                Duration ecart = Duration.between(prevue, debut);
+                retard.record(ecart.isNegative() ? Duration.ZERO : ecart);
+            }
+            long t0 = System.nanoTime();
+            try {
+                tache.run();
+                succes.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+            } catch (RuntimeException | Error e) {
+                erreur.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+                throw e;
+            } finally {
+                verrou.set(false);
+                Instant echeance = echeanceSuivante(prevue, debut);
+                Instant fin = getClock().instant();
+                if (echeance != null && fin.isAfter(echeance)) {
+                    depassements.increment();
+                }
+                avancer(prevue, fin);
+            }
+        }
+
+        // Échéance qui suit l'exécution commencée à debut, si elle s'était terminée aussitôt
+        private Instant echeanceSuivante(Instant prevue, Instant debut) {
+            return switch (mode) {
+                case CADENCE_FIXE -> (prevue != null ? prevue : debut).plus(periode);
+                case DELAI_FIXE -> debut.plus(periode);
+                case DECLENCHEUR -> trigger.nextExecution(new SimpleTriggerContext(prevue != null ? prevue : debut, debut, debut));
+                case UNIQUE -> null;
+            };
+        }
+
+        // Heure prévue de l'exécution suivante (le déclencheur la fournit lui-même)
+        private void avancer(Instant prevue, Instant fin) {
+            switch (mode) {
+                case CADENCE_FIXE -> attendue = (prevue != null ? prevue : fin).plus(periode);
+                case DELAI_FIXE -> attendue = fin.plus(periode);
+                case UNIQUE -> attendue = null;
+                default -> { }
+            }
+        }
+
+        private Timer timerExecution(String issue) {
+            return Timer.builder(TIMER_EXECUTION).description("Durée d'exécution des tâches planifiées")
+                    .tag("tache", nom).tag("issue", issue).register(registry);
+        }
+
+        private Counter compteurIgnorees(String raison) {
+            return Counter.builder(COMPTEUR_IGNOREES).description("Exécutions planifiées non lancées")
+                    .tag("tache", nom).tag("raison", raison).register(registry);
+        }
+    }
+}
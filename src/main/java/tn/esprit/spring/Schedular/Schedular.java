@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import tn.esprit.spring.Services.Chambre.IChambreService;
+import tn.esprit.spring.Services.Chambre.IInventaireChambreService;
 import tn.esprit.spring.Services.Reservation.IReservationService;
 
 @Component
@@ -13,10 +14,12 @@ public class Schedular {
 
     IChambreService iChambreService;
     IReservationService iReservationService;
+    IInventaireChambreService iInventaireChambreService;
 
-    @Scheduled(cron = "0 * * * * *")
+    // Inventaire des blocs et chambres: seuls les changements depuis le passage précédent sont journalisés
+    @Scheduled(cron = "${foyer.inventaire.chambres.cron:0 * * * * *}")
     void service1() {
-        iChambreService.listeChambresParBloc();
+        iInventaireChambreService.inventorier();
     }
 
 //    @Scheduled(fixedRate = 30000)
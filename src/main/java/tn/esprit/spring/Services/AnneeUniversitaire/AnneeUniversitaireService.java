@@ -0,0 +1,108 @@
+package tn.esprit.spring.Services.AnneeUniversitaire;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import tn.esprit.spring.DAO.Entities.Chambre;
+import tn.esprit.spring.DAO.Entities.Foyer;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+// Bornes des années universitaires, calculées une fois par année: la période courante est gardée
+// en mémoire et recalculée quand l'horloge sort de la période de réservations (bascule).
+@Service
+public class AnneeUniversitaireService implements IAnneeUniversitaireService {
+    private final Clock horloge;
+    private final MonthDay bascule;
+    private final MonthDay debut;
+    private final MonthDay fin;
+    private final Map<String, MonthDay[]> datesUniversites = new HashMap<>();
+    private volatile Courante courante;
+
+    private record Courante(PeriodeAU reservations, PeriodeAU cours, Map<String, PeriodeAU> universites) {
+    }
+
+    @Autowired
+    public AnneeUniversitaireService(ParametresAnneeUniversitaire parametres) {
+        this(parametres, Clock.systemDefaultZone());
+    }
+
+    public AnneeUniversitaireService(ParametresAnneeUniversitaire parametres, Clock horloge) {
+        this.horloge = horloge;
+        this.bascule = mois(parametres.getBascule());
+        this.debut = mois(parametres.getDebut());
+        this.fin = mois(parametres.getFin());
+        parametres.getUniversites().forEach((nom, dates) -> datesUniversites.put(nom, new MonthDay[]{
+                dates.getDebut() == null ? debut : mois(dates.getDebut()),
+                dates.getFin() == null ? fin : mois(dates.getFin())}));
+    }
+
+    @Override
+    public PeriodeAU courante() {
+        return actuelle().cours();
+    }
+
+    @Override
+    public PeriodeAU courante(String nomUniversite) {
+        Courante c = actuelle();
+        return nomUniversite == null ? c.cours() : c.universites().getOrDefault(nomUniversite, c.cours());
+    }
+
+    @Override
+    public PeriodeAU courante(Chambre chambre) {
+        if (datesUniversites.isEmpty() || chambre.getBloc() == null) {
+            return courante();
+        }
+        Foyer foyer = chambre.getBloc().getFoyer();
+        return courante(foyer == null || foyer.getUniversite() == null ? null : foyer.getUniversite().getNomUniversite());
+    }
+
+    @Override
+    public Map<String, PeriodeAU> courantesParUniversite() {
+        return actuelle().universites();
+    }
+
+    @Override
+    public PeriodeAU periodeReservations() {
+        return actuelle().reservations();
+    }
+
+    @Override
+    public PeriodeAU pour(LocalDate date) {
+        return cours(anneeDebut(date), debut, fin);
+    }
+
+    private Courante actuelle() {
+        LocalDate aujourdhui = LocalDate.now(horloge);
+        Courante c = courante;
+        if (c == null || !c.reservations().contient(aujourdhui)) {
+            c = calculer(anneeDebut(aujourdhui));
+            courante = c;
+        }
+        return c;
+    }
+
+    private Courante calculer(int annee) {
+        PeriodeAU reservations = new PeriodeAU(bascule.atYear(annee), bascule.atYear(annee + 1).minusDays(1));
+        Map<String, PeriodeAU> universites = new HashMap<>();
+        datesUniversites.forEach((nom, dates) -> universites.put(nom, cours(annee, dates[0], dates[1])));
+        return new Courante(reservations, cours(annee, debut, fin), Collections.unmodifiableMap(universites));
+    }
+
+    private int anneeDebut(LocalDate date) {
+        return date.isBefore(bascule.atYear(date.getYear())) ? date.getYear() - 1 : date.getYear();
+    }
+
+    // Le début est dans l'année de la bascule, la fin dans l'année suivante si elle précède le début
+    private static PeriodeAU cours(int annee, MonthDay debut, MonthDay fin) {
+        return new PeriodeAU(debut.atYear(annee), fin.atYear(fin.isAfter(debut) ? annee : annee + 1));
+    }
+
+    private static MonthDay mois(String moisJour) {
+        return MonthDay.parse("--" + moisJour);
+    }
+}
@@ -0,0 +1,19 @@
+package tn.esprit.spring.Services.AnneeUniversitaire;
+
+import tn.esprit.spring.DAO.Entities.Chambre;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface IAnneeUniversitaireService {
+    // Période des cours de l'année en cours (15/09 -> 30/06 par défaut)
+    PeriodeAU courante();
+    PeriodeAU courante(String nomUniversite);
+    // Période de l'université du foyer de la chambre, ou la période par défaut
+    PeriodeAU courante(Chambre chambre);
+    // Périodes des seules universités aux dates propres, par nom
+    Map<String, PeriodeAU> courantesParUniversite();
+    // De la bascule à la veille de la bascule suivante (01/08 -> 31/07 par défaut)
+    PeriodeAU periodeReservations();
+    PeriodeAU pour(LocalDate date);
+}
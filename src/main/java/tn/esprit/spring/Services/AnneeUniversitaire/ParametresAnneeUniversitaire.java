@@ -0,0 +1,34 @@
+package tn.esprit.spring.Services.AnneeUniversitaire;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Calendrier universitaire (foyer.annee-universitaire.*), dates au format MM-jj.
+// L'année universitaire change à la date de bascule; début et fin des cours doivent suivre la bascule.
+@Component
+@ConfigurationProperties(prefix = "foyer.annee-universitaire")
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ParametresAnneeUniversitaire {
+    String bascule = "08-01";
+    String debut = "09-15";
+    String fin = "06-30";
+    // Dates propres à une université, par nom: foyer.annee-universitaire.universites.[Esprit].debut=09-01
+    Map<String, Dates> universites = new HashMap<>();
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Dates {
+        String debut;
+        String fin;
+    }
+}
@@ -0,0 +1,16 @@
+package tn.esprit.spring.Services.AnneeUniversitaire;
+
+import java.time.LocalDate;
+
+// Période d'une année universitaire, bornes incluses
+public record PeriodeAU(LocalDate debut, LocalDate fin) {
+
+    public boolean contient(LocalDate date) {
+        return date != null && !date.isBefore(debut) && !date.isAfter(fin);
+    }
+
+    // "2024/2025", préfixe des identifiants de réservation
+    public String libelle() {
+        return debut.getYear() + "/" + fin.getYear();
+    }
+}
@@ -0,0 +1,9 @@
+package tn.esprit.spring.Services.Bloc;
+
+import tn.esprit.spring.DAO.Entities.Bloc;
+
+import java.util.List;
+
+// Résultat d'une affectation de chambres à un bloc: nombre de chambres affectées et numéros inconnus
+public record AffectationChambres(Bloc bloc, int nbAffectees, List<Long> numerosInconnus) {
+}
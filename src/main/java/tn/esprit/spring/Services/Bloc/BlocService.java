@@ -1,43 +1,57 @@
 package tn.esprit.spring.Services.Bloc;
 
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import tn.esprit.spring.DAO.Entities.Bloc;
 import tn.esprit.spring.DAO.Entities.Chambre;
 import tn.esprit.spring.DAO.Entities.Foyer;
+import tn.esprit.spring.DAO.Projections.BlocVue;
 import tn.esprit.spring.DAO.Repositories.BlocRepository;
 import tn.esprit.spring.DAO.Repositories.ChambreRepository;
 import tn.esprit.spring.DAO.Repositories.FoyerRepository;
+import tn.esprit.spring.Services.Chambre.StatistiquesChambreService;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 public class BlocService implements IBlocService {
+    // Taille maximale des listes IN de l'affectation en masse
+    static final int TAILLE_LOT = 1000;
+
     BlocRepository repo;
     ChambreRepository chambreRepository;
     BlocRepository blocRepository;
     FoyerRepository foyerRepository;
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = StatistiquesChambreService.CACHE, allEntries = true)
     public Bloc addOrUpdate2(Bloc b) { //Cascade
-        List<Chambre> chambres = b.getChambres();
-        for (Chambre c : chambres) {
-            c.setBloc(b);
-            chambreRepository.save(c);
-        }
+        chargerChambresExistantes(b.getChambres());
+        enregistrerChambres(b, b.getChambres());
         return b;
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = StatistiquesChambreService.CACHE, allEntries = true)
     public Bloc addOrUpdate(Bloc b) {
         List<Chambre> chambres = b.getChambres();
+        // Avant le merge du bloc, qui sinon relit une à une les chambres de b.chambres
+        chargerChambresExistantes(chambres);
         b = repo.save(b);
-        for (Chambre chambre : chambres) {
-            chambre.setBloc(b);
-            chambreRepository.save(chambre);
-        }
+        enregistrerChambres(b, chambres);
         return b;
     }
 
@@ -46,42 +60,84 @@ public class BlocService implements IBlocService {
         return repo.findAll();
     }
 
+    @Override
+    public Page<Bloc> findAll(Pageable pageable) {
+        return repo.findAll(pageable);
+    }
+
+    @Override
+    public List<Bloc> findAllApres(long id, int taille) {
+        return repo.findByIdBlocGreaterThanOrderByIdBloc(id, PageRequest.of(0, taille));
+    }
+
+    @Override
+    public Stream<BlocVue> streamVues() {
+        return repo.streamVues();
+    }
+
     @Override
     public Bloc findById(long id) {
         return repo.findById(id).get();
     }
 
     @Override
+    public List<BlocVue> findAllVues() {
+        return repo.findAllVues();
+    }
+
+    @Override
+    public Page<BlocVue> findAllVues(Pageable pageable) {
+        return repo.findAllVues(pageable);
+    }
+
+    @Override
+    public List<BlocVue> findAllVuesApres(long id, int taille) {
+        return repo.findVuesApres(id, PageRequest.of(0, taille));
+    }
+
+    @Override
+    public BlocVue findVueById(long id) {
+        return repo.findVueById(id).orElseThrow();
+    }
+
+    @Override
+    @CacheEvict(cacheNames = StatistiquesChambreService.CACHE, allEntries = true)
     public void deleteById(long id) {
-        Bloc b =repo.findById(id).get();
+        Bloc b =repo.findAvecChambresByIdBloc(id).get();
         chambreRepository.deleteAll(b.getChambres());
         repo.delete(b);
     }
 
     @Override
+    @CacheEvict(cacheNames = StatistiquesChambreService.CACHE, allEntries = true)
     public void delete(Bloc b) {
         chambreRepository.deleteAll(b.getChambres());
         repo.delete(b);
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = StatistiquesChambreService.CACHE, allEntries = true)
     public Bloc affecterChambresABloc(List<Long> numChambre, String nomBloc) {
-        //1
+        return affecterChambres(numChambre, nomBloc).bloc();
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = StatistiquesChambreService.CACHE, allEntries = true)
+    public AffectationChambres affecterChambres(List<Long> numChambre, String nomBloc) {
         Bloc b = repo.findByNomBloc(nomBloc);
-        List<Chambre> chambres = new ArrayList<>();
-        for (Long nu : numChambre) {
-            Chambre chambre = chambreRepository.findByNumeroChambre(nu);
-            chambres.add(chambre);
-        }
-        // Keyword (2ème méthode)
-        //2 Parent==>Chambre  Child==> Bloc
-        for (Chambre cha : chambres) {
-            //3 On affecte le child au parent
-            cha.setBloc(b);
-            //4 save du parent
-            chambreRepository.save(cha);
+        // Par lots: une requête IN pour repérer les numéros connus, une requête update pour les affecter
+        List<Long> numeros = new ArrayList<>(new LinkedHashSet<>(numChambre));
+        Set<Long> connus = new HashSet<>();
+        int nbAffectees = 0;
+        for (int debut = 0; debut < numeros.size(); debut += TAILLE_LOT) {
+            List<Long> lot = numeros.subList(debut, Math.min(debut + TAILLE_LOT, numeros.size()));
+            connus.addAll(chambreRepository.findNumerosChambreIn(lot));
+            nbAffectees += chambreRepository.affecterBloc(b, lot);
         }
-        return b;
+        List<Long> inconnus = numeros.stream().filter(n -> !connus.contains(n)).toList();
+        return new AffectationChambres(b, nbAffectees, inconnus);
     }
 
     @Override
@@ -94,12 +150,12 @@ public class BlocService implements IBlocService {
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = StatistiquesChambreService.CACHE, allEntries = true)
     public Bloc ajouterBlocEtSesChambres(Bloc b) {
         // Activer l'option cascade au niveau parent
-        for (Chambre c : b.getChambres()) {
-            c.setBloc(b);
-            chambreRepository.save(c);
-        }
+        chargerChambresExistantes(b.getChambres());
+        enregistrerChambres(b, b.getChambres());
         return b;
     }
 
@@ -111,6 +167,26 @@ public class BlocService implements IBlocService {
         return blocRepository.save(b);
     }
 
+    // Chambres existantes (et leurs réservations) chargées par une seule requête IN dans le contexte
+    // de persistance: les merges qui suivent les y trouvent au lieu d'un select par chambre
+    private void chargerChambresExistantes(List<Chambre> chambres) {
+        if (chambres == null) {
+            return;
+        }
+        List<Long> existantes = chambres.stream().map(Chambre::getIdChambre).filter(id -> id != 0).toList();
+        if (!existantes.isEmpty()) {
+            chambreRepository.getChambresAvecReservationsParIds(existantes);
+        }
+    }
 
-
+    // Enregistre les chambres du bloc dans la transaction courante, les updates partent par lots JDBC
+    private void enregistrerChambres(Bloc b, List<Chambre> chambres) {
+        if (chambres == null || chambres.isEmpty()) {
+            return;
+        }
+        for (Chambre c : chambres) {
+            c.setBloc(b);
+        }
+        chambreRepository.saveAll(chambres);
+    }
 }
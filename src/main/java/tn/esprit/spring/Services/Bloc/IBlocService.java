@@ -1,8 +1,12 @@
 package tn.esprit.spring.Services.Bloc;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import tn.esprit.spring.DAO.Entities.Bloc;
+import tn.esprit.spring.DAO.Projections.BlocVue;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface IBlocService {
     Bloc addOrUpdate(Bloc b);
@@ -11,7 +15,17 @@ public interface IBlocService {
 
     List<Bloc> findAll();
 
+    Page<Bloc> findAll(Pageable pageable);
+
+    List<Bloc> findAllApres(long id, int taille);
+
+    Stream<BlocVue> streamVues();
+
     Bloc findById(long id);
+    List<BlocVue> findAllVues();
+    Page<BlocVue> findAllVues(Pageable pageable);
+    List<BlocVue> findAllVuesApres(long id, int taille);
+    BlocVue findVueById(long id);
 
     void deleteById(long id);
 
@@ -19,6 +33,8 @@ public interface IBlocService {
 
     Bloc affecterChambresABloc(List<Long> numChambre, String nomBloc);
 
+    AffectationChambres affecterChambres(List<Long> numChambre, String nomBloc);
+
     Bloc affecterBlocAFoyer(String nomBloc, String nomFoyer);
 
     Bloc ajouterBlocEtSesChambres(Bloc b);
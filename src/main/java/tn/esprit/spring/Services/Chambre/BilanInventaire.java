@@ -0,0 +1,9 @@
+package tn.esprit.spring.Services.Chambre;
+
+import java.time.LocalDateTime;
+
+// Résultat d'un inventaire: totaux, et changements (blocs et chambres) depuis l'inventaire précédent.
+// Le premier inventaire sert de référence et ne compte aucun changement.
+public record BilanInventaire(LocalDateTime date, long nbBlocs, long nbChambres,
+                             long nbAjouts, long nbModifications, long nbSuppressions) {
+}
@@ -2,28 +2,41 @@ package tn.esprit.spring.Services.Chambre;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import tn.esprit.spring.DAO.Entities.Bloc;
 import tn.esprit.spring.DAO.Entities.Chambre;
-import tn.esprit.spring.DAO.Entities.Reservation;
 import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.ChambreResume;
+import tn.esprit.spring.DAO.Projections.ChambreVue;
 import tn.esprit.spring.DAO.Repositories.BlocRepository;
 import tn.esprit.spring.DAO.Repositories.ChambreRepository;
+import tn.esprit.spring.Services.AnneeUniversitaire.IAnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.PeriodeAU;
+import tn.esprit.spring.Services.PageCurseur;
 
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 @Slf4j
 public class ChambreService implements IChambreService {
-    private final ChambreRepository chambreRepository;
+    private static final int TAILLE_PAGE_PLACES = 1000;
+
     ChambreRepository repo;
     BlocRepository blocRepository;
+    IOccupationChambreService occupationChambreService;
+    IStatistiquesChambreService statistiquesChambreService;
+    IAnneeUniversitaireService anneeUniversitaire;
 
     @Override
+    @CacheEvict(cacheNames = StatistiquesChambreService.CACHE, allEntries = true)
     public Chambre addOrUpdate(Chambre c) {
         return repo.save(c);
     }
@@ -33,17 +46,54 @@ public class ChambreService implements IChambreService {
         return repo.findAll();
     }
 
+    @Override
+    public Page<Chambre> findAll(Pageable pageable) {
+        return repo.findAll(pageable);
+    }
+
+    @Override
+    public List<Chambre> findAllApres(long id, int taille) {
+        return repo.findByIdChambreGreaterThanOrderByIdChambre(id, PageRequest.of(0, taille));
+    }
+
+    @Override
+    public Stream<ChambreVue> streamVues() {
+        return repo.streamVues();
+    }
+
     @Override
     public Chambre findById(long id) {
         return repo.findById(id).get();
     }
 
     @Override
+    public List<ChambreVue> findAllVues() {
+        return repo.findAllVues();
+    }
+
+    @Override
+    public Page<ChambreVue> findAllVues(Pageable pageable) {
+        return repo.findAllVues(pageable);
+    }
+
+    @Override
+    public List<ChambreVue> findAllVuesApres(long id, int taille) {
+        return repo.findVuesApres(id, PageRequest.of(0, taille));
+    }
+
+    @Override
+    public ChambreVue findVueById(long id) {
+        return repo.findVueById(id).orElseThrow();
+    }
+
+    @Override
+    @CacheEvict(cacheNames = StatistiquesChambreService.CACHE, allEntries = true)
     public void deleteById(long id) {
         repo.deleteById(id);
     }
 
     @Override
+    @CacheEvict(cacheNames = StatistiquesChambreService.CACHE, allEntries = true)
     public void delete(Chambre c) {
         repo.delete(c);
     }
@@ -53,66 +103,34 @@ public class ChambreService implements IChambreService {
         return repo.findByBlocNomBloc(nomBloc);
     }
 
+    @Override
+    public List<ChambreVue> getVuesParNomBloc(String nomBloc) {
+        return repo.findVuesByNomBloc(nomBloc);
+    }
+
     @Override
     public long nbChambreParTypeEtBloc(TypeChambre type, long idBloc) {
-        long compteur = 0;
-        List<Chambre> list = chambreRepository.findAll();
-        for (Chambre chambre : list) {
-            if (chambre.getBloc().getIdBloc() == idBloc
-                    && chambre.getTypeC().equals(type)) {
-                compteur++;
-            }
-        }
-        return compteur;
-        //return repo.countByTypeCAndBlocIdBloc(type, idBloc);
+        return statistiquesChambreService.nbChambresParType(idBloc).get(type);
     }
 
     @Override
-    public List<Chambre> getChambresNonReserveParNomFoyerEtTypeChambre(String nomFoyer, TypeChambre type) {
+    public List<ChambreVue> getChambresNonReserveParNomFoyerEtTypeChambre(String nomFoyer, TypeChambre type) {
 
         // Afficher les chambres non réservée, par typeChambre,
         // appartenant à un foyer donné par son nom, effectué durant
         // l’année universitaire actuelle.
+        // Même période que l'index d'occupation (1er août -> 31 juillet): une chambre listée ici
+        // n'est pas refusée comme complète à la réservation
 
-        // Début "récuperer l'année universitaire actuelle"
-        LocalDate dateDebutAU;
-        LocalDate dateFinAU;
-        int numReservation;
-        int year = LocalDate.now().getYear() % 100;
-        if (LocalDate.now().getMonthValue() <= 7) {
-            dateDebutAU = LocalDate.of(Integer.parseInt("20" + (year - 1)), 9, 15);
-            dateFinAU = LocalDate.of(Integer.parseInt("20" + year), 6, 30);
-        } else {
-            dateDebutAU = LocalDate.of(Integer.parseInt("20" + year), 9, 15);
-            dateFinAU = LocalDate.of(Integer.parseInt("20" + (year + 1)), 6, 30);
-        }
-        // Fin "récuperer l'année universitaire actuelle"
-        List<Chambre> listChambreDispo = new ArrayList<>();
-        for (Chambre c : repo.findAll()) {
-            if (c.getTypeC().equals(type) && c.getBloc().getFoyer().getNomFoyer().equals(nomFoyer)) { // Les chambres du foyer X et qui ont le type Y
-                numReservation = 0;
-                // nchoufou les réservations mta3 AU hethy binesba lil bit heki
-                for (Reservation reservation : c.getReservations()) {
-                    if (reservation.getAnneeUniversitaire().isBefore(dateFinAU) && reservation.getAnneeUniversitaire().isAfter(dateDebutAU)) {
-                        numReservation++;
-                    }
-                }
-                // nvérifi bil type w nombre des places elli l9ahom fer8in fi kol bit
-                if (c.getTypeC().equals(TypeChambre.SIMPLE) && numReservation == 0) {
-                    listChambreDispo.add(c);
-                } else if (c.getTypeC().equals(TypeChambre.DOUBLE) && numReservation < 2) {
-                    listChambreDispo.add(c);
-                } else if (c.getTypeC().equals(TypeChambre.TRIPLE) && numReservation < 3) {
-                    listChambreDispo.add(c);
-                }
-            }
-        }
-        return listChambreDispo;
+        PeriodeAU au = anneeUniversitaire.periodeReservations();
+        return repo.getChambresNonReserveParNomFoyerEtTypeChambre(nomFoyer, type,
+                type.getCapacite(), au.debut(), au.fin());
     }
 
-    @Scheduled(cron = "0 * * * * *")
+    // Liste complète à la demande; le suivi périodique est fait par l'inventaire (IInventaireChambreService)
+    @Override
     public void listeChambresParBloc() {
-        for (Bloc b : blocRepository.findAll()) {
+        for (Bloc b : blocRepository.findAllAvecChambres()) {
             log.info("Bloc => " + b.getNomBloc() +
                     " ayant une capacité " + b.getCapaciteBloc());
             if (b.getChambres().size() != 0) {
@@ -130,63 +148,47 @@ public class ChambreService implements IChambreService {
 
     @Override
     public void pourcentageChambreParTypeChambre() {
-        long totalChambre = repo.count();
-        double pSimple = (double) (repo.countChambreByTypeC(TypeChambre.SIMPLE) * 100) / totalChambre;
-        double pDouble = (double) (repo.countChambreByTypeC(TypeChambre.DOUBLE) * 100) / totalChambre;
-        double pTriple = (double) (repo.countChambreByTypeC(TypeChambre.TRIPLE) * 100) / totalChambre;
+        // Une requête group by depuis Chambre (en cache), chambres sans bloc comprises; 0% quand il n'y a aucune chambre
+        Map<TypeChambre, Long> parType = statistiquesChambreService.nbChambresParType();
+        long totalChambre = parType.values().stream().mapToLong(Long::longValue).sum();
         log.info("Nombre total des chambre: " + totalChambre);
-        log.info("Le pourcentage des chambres pour le type SIMPLE est égale à " + pSimple);
-        log.info("Le pourcentage des chambres pour le type DOUBLE est égale à " + pDouble);
-        log.info("Le pourcentage des chambres pour le type TRIPLE est égale à " + pTriple);
-
+        parType.forEach((type, nb) -> log.info("Le pourcentage des chambres pour le type " + type + " est égale à "
+                + (totalChambre == 0 ? 0 : (double) (nb * 100) / totalChambre)));
     }
 
     @Override
     public void nbPlacesDisponibleParChambreAnneeEnCours() {
-        // Début "récuperer l'année universitaire actuelle"
-        LocalDate dateDebutAU;
-        LocalDate dateFinAU;
-        int numReservation;
-        int year = LocalDate.now().getYear() % 100;
-        if (LocalDate.now().getMonthValue() <= 7) {
-            dateDebutAU = LocalDate.of(Integer.parseInt("20" + (year - 1)), 9, 15);
-            dateFinAU = LocalDate.of(Integer.parseInt("20" + year), 6, 30);
-        } else {
-            dateDebutAU = LocalDate.of(Integer.parseInt("20" + year), 9, 15);
-            dateFinAU = LocalDate.of(Integer.parseInt("20" + (year + 1)), 6, 30);
-        }
-        // Fin "récuperer l'année universitaire actuelle"
-        for (Chambre c : repo.findAll()) {
-            long nbReservation = repo.countReservationsByIdChambreAndReservationsEstValideAndReservationsAnneeUniversitaireBetween(c.getIdChambre()
-                    , true, dateDebutAU, dateFinAU);
-            switch (c.getTypeC()) {
-                case SIMPLE:
-                    if (nbReservation == 0) {
-                        log.info("Le nombre de place disponible pour la chambre " + c.getTypeC() + " " + c.getNumeroChambre() + " est 1 ");
-                    } else {
-                        log.info("La chambre " + c.getTypeC() + " " + c.getNumeroChambre() + " est complete");
-                    }
-                    break;
-                case DOUBLE:
-                    if (nbReservation < 2) {
-                        log.info("Le nombre de place disponible pour la chambre " + c.getTypeC() + " " + c.getNumeroChambre() + " est " + (2 - nbReservation));
-                    } else {
-                        log.info("La chambre " + c.getTypeC() + " " + c.getNumeroChambre() + " est complete");
-                    }
-                    break;
-                case TRIPLE:
-                    if (nbReservation < 3) {
-                        log.info("Le nombre de place disponible pour la chambre " + c.getTypeC() + " " + c.getNumeroChambre() + " est " + (3 - nbReservation));
-                    } else {
-                        log.info("La chambre " + c.getTypeC() + " " + c.getNumeroChambre() + " est complete");
-                    }
+        // Par pages de chambres, une requête par page: les réservations sont lues dans l'index d'occupation
+        PageCurseur<PlacesDisponibles> page = placesDisponibles(0, TAILLE_PAGE_PLACES);
+        while (true) {
+            for (PlacesDisponibles p : page.contenu()) {
+                if (p.nbPlacesDisponibles() > 0) {
+                    log.info("Le nombre de place disponible pour la chambre " + p.typeC() + " " + p.numeroChambre() + " est " + p.nbPlacesDisponibles());
+                } else {
+                    log.info("La chambre " + p.typeC() + " " + p.numeroChambre() + " est complete");
+                }
             }
+            if (page.curseurSuivant() == null) {
+                break;
+            }
+            page = placesDisponibles(page.curseurSuivant(), TAILLE_PAGE_PLACES);
+        }
+    }
+
+    @Override
+    public PageCurseur<PlacesDisponibles> placesDisponibles(long apres, int taille) {
+        List<PlacesDisponibles> places = new ArrayList<>();
+        for (ChambreResume c : repo.getChambresResumeApres(apres, PageRequest.of(0, taille + 1))) {
+            int nbReservations = occupationChambreService.nbReservations(c.getIdChambre());
+            places.add(new PlacesDisponibles(c.getIdChambre(), c.getNumeroChambre(), c.getTypeC(),
+                    Math.max(0, c.getTypeC().getCapacite() - nbReservations)));
         }
+        return PageCurseur.de(places, taille, PlacesDisponibles::idChambre);
     }
 
     @Override
     public List<Chambre> getChambresParNomBlocJava(String nomBloc) {
-        Bloc b = blocRepository.findByNomBloc(nomBloc);
+        Bloc b = blocRepository.findAvecChambresByNomBloc(nomBloc);
         if (b == null) {
             return new ArrayList<>();
         }
@@ -0,0 +1,149 @@
+package tn.esprit.spring.Services.Chambre;
+
+import java.util.function.LongConsumer;
+
+// Compteurs idChambre -> nombre en tableaux primitifs (ni Long ni Integer par chambre), découpés en
+// segments qui suivent les verrous d'OccupationChambreService: un segment n'est lu ou modifié que sous
+// le verrou de même indice, pris par l'appelant. Un compteur qui tombe à 0 est retiré.
+public final class CompteursParChambre {
+    private final Segment[] segments;
+
+    public CompteursParChambre(int nbSegments) {
+        if (Integer.bitCount(nbSegments) != 1) {
+            throw new IllegalArgumentException("Nombre de segments non puissance de 2: " + nbSegments);
+        }
+        segments = new Segment[nbSegments];
+        for (int i = 0; i < nbSegments; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    // Même découpage que les verrous des chambres
+    public static int segment(long idChambre, int nbSegments) {
+        return Long.hashCode(idChambre) & (nbSegments - 1);
+    }
+
+    public int get(long idChambre) {
+        return segmentDe(idChambre).get(idChambre);
+    }
+
+    public void ajouter(long idChambre, int ecart) {
+        segmentDe(idChambre).ajouter(idChambre, ecart);
+    }
+
+    public void fixer(long idChambre, int nb) {
+        Segment s = segmentDe(idChambre);
+        s.ajouter(idChambre, nb - s.get(idChambre));
+    }
+
+    // Ids présents dans un segment (sous le verrou de ce segment)
+    public void pourChaque(int segment, LongConsumer action) {
+        Segment s = segments[segment];
+        for (int i = 0; i < s.cles.length; i++) {
+            if (s.valeurs[i] != 0) {
+                action.accept(s.cles[i]);
+            }
+        }
+    }
+
+    // Sous tous les verrous
+    public void ajouterTout(CompteursParChambre autres) {
+        for (int i = 0; i < autres.segments.length; i++) {
+            Segment s = autres.segments[i];
+            for (int j = 0; j < s.cles.length; j++) {
+                if (s.valeurs[j] != 0) {
+                    ajouter(s.cles[j], s.valeurs[j]);
+                }
+            }
+        }
+    }
+
+    public int taille() {
+        int taille = 0;
+        for (Segment s : segments) {
+            taille += s.taille;
+        }
+        return taille;
+    }
+
+    private Segment segmentDe(long idChambre) {
+        return segments[segment(idChambre, segments.length)];
+    }
+
+    // Adressage ouvert, sondage linéaire; valeur 0: case vide
+    private static final class Segment {
+        long[] cles = new long[8];
+        int[] valeurs = new int[8];
+        int decalage = 64 - 3;
+        int taille;
+
+        // Bits de poids fort du produit: les ids d'un segment ont les mêmes bits de poids faible
+        int position(long cle) {
+            return (int) ((cle * 0x9E3779B97F4A7C15L) >>> decalage);
+        }
+
+        int get(long cle) {
+            int masque = cles.length - 1;
+            for (int i = position(cle); valeurs[i] != 0; i = (i + 1) & masque) {
+                if (cles[i] == cle) {
+                    return valeurs[i];
+                }
+            }
+            return 0;
+        }
+
+        void ajouter(long cle, int ecart) {
+            if (ecart == 0) {
+                return;
+            }
+            int masque = cles.length - 1;
+            int i = position(cle);
+            while (valeurs[i] != 0 && cles[i] != cle) {
+                i = (i + 1) & masque;
+            }
+            if (valeurs[i] != 0) {
+                int nb = valeurs[i] + ecart;
+                if (nb > 0) {
+                    valeurs[i] = nb;
+                } else {
+                    supprimer(i);
+                }
+            } else if (ecart > 0) {
+                cles[i] = cle;
+                valeurs[i] = ecart;
+                if (++taille > cles.length * 3 / 4) {
+                    agrandir();
+                }
+            }
+        }
+
+        // Suppression par décalage arrière: pas de case "supprimée" qui allongerait les sondages
+        private void supprimer(int i) {
+            int masque = cles.length - 1;
+            int vide = i;
+            for (int j = (i + 1) & masque; valeurs[j] != 0; j = (j + 1) & masque) {
+                if (((j - position(cles[j])) & masque) >= ((j - vide) & masque)) {
+                    cles[vide] = cles[j];
+                    valeurs[vide] = valeurs[j];
+                    vide = j;
+                }
+            }
+            valeurs[vide] = 0;
+            taille--;
+        }
+
+        private void agrandir() {
+            long[] anciennesCles = cles;
+            int[] anciennesValeurs = valeurs;
+            cles = new long[anciennesCles.length * 2];
+            valeurs = new int[anciennesCles.length * 2];
+            decalage--;
+            taille = 0;
+            for (int i = 0; i < anciennesCles.length; i++) {
+                if (anciennesValeurs[i] != 0) {
+                    ajouter(anciennesCles[i], anciennesValeurs[i]);
+                }
+            }
+        }
+    }
+}
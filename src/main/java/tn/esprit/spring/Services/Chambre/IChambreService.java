@@ -1,22 +1,37 @@
 package tn.esprit.spring.Services.Chambre;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import tn.esprit.spring.DAO.Entities.Chambre;
 import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.ChambreVue;
+import tn.esprit.spring.Services.PageCurseur;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface IChambreService {
     Chambre addOrUpdate(Chambre c);
     List<Chambre> findAll();
+    Page<Chambre> findAll(Pageable pageable);
+    List<Chambre> findAllApres(long id, int taille);
+    Stream<ChambreVue> streamVues();
     Chambre findById(long id);
+    // Vues de lecture des contrôleurs: une requête par liste, sans parcours des associations
+    List<ChambreVue> findAllVues();
+    Page<ChambreVue> findAllVues(Pageable pageable);
+    List<ChambreVue> findAllVuesApres(long id, int taille);
+    ChambreVue findVueById(long id);
     void deleteById(long id);
     void delete(Chambre c);
     List<Chambre>  getChambresParNomBloc( String nomBloc);
+    List<ChambreVue> getVuesParNomBloc(String nomBloc);
     long  nbChambreParTypeEtBloc(TypeChambre type, long idBloc);
-    List<Chambre>  getChambresNonReserveParNomFoyerEtTypeChambre( String nomFoyer,TypeChambre type);
+    List<ChambreVue>  getChambresNonReserveParNomFoyerEtTypeChambre( String nomFoyer,TypeChambre type);
     void listeChambresParBloc();
     void pourcentageChambreParTypeChambre();
     void nbPlacesDisponibleParChambreAnneeEnCours();
+    PageCurseur<PlacesDisponibles> placesDisponibles(long apres, int taille);
 
     List<Chambre> getChambresParNomBlocJava( String nomBloc);
     List<Chambre>getChambresParNomBlocKeyWord( String nomBloc);
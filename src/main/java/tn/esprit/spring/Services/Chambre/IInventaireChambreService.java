@@ -0,0 +1,6 @@
+package tn.esprit.spring.Services.Chambre;
+
+public interface IInventaireChambreService {
+    // null si un inventaire est déjà en cours
+    BilanInventaire inventorier();
+}
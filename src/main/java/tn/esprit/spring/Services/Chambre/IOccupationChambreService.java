@@ -0,0 +1,17 @@
+package tn.esprit.spring.Services.Chambre;
+
+import tn.esprit.spring.DAO.Entities.Chambre;
+
+import java.time.LocalDate;
+import java.util.concurrent.locks.Lock;
+
+public interface IOccupationChambreService {
+    void charger();
+    Lock verrou(long idChambre);
+    int nbReservations(long idChambre);
+    int nbPlacesDisponibles(Chambre c);
+    void reservationAjoutee(long idChambre, LocalDate dateReservation);
+    void reservationAnnulee(long idChambre, LocalDate dateReservation);
+    void reservationsAnnulees();
+    int reconcilier();
+}
@@ -0,0 +1,6 @@
+package tn.esprit.spring.Services.Chambre;
+
+public interface IRapportChambreService {
+    RapportRepartition rapport();
+    RapportRepartition rafraichir();
+}
@@ -0,0 +1,11 @@
+package tn.esprit.spring.Services.Chambre;
+
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+
+import java.util.Map;
+
+public interface IStatistiquesChambreService {
+    Map<TypeChambre, Long> nbChambresParType();
+    Map<TypeChambre, Long> nbChambresParType(long idBloc);
+    Map<Long, Map<TypeChambre, Long>> nbChambresParTypeEtBloc();
+}
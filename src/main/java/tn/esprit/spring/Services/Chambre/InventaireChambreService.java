@@ -0,0 +1,142 @@
+package tn.esprit.spring.Services.Chambre;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.BlocResume;
+import tn.esprit.spring.DAO.Projections.ChambreInventaire;
+import tn.esprit.spring.DAO.Repositories.BlocRepository;
+import tn.esprit.spring.DAO.Repositories.ChambreRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Inventaire des blocs et de leurs chambres, lu par pages de blocs (deux requêtes par page, projections
+// sans graphe d'entités) puis comparé au précédent: seuls les changements sont journalisés, les totaux
+// et le nombre de changements sont publiés en métriques.
+@Service
+@Slf4j
+public class InventaireChambreService implements IInventaireChambreService {
+    public static final String GAUGE_BLOCS = "foyer.inventaire.blocs";
+    public static final String GAUGE_CHAMBRES = "foyer.inventaire.chambres";
+    public static final String COMPTEUR_CHANGEMENTS = "foyer.inventaire.changements";
+    static final int TAILLE_PAGE_BLOCS = 100;
+    // Au-delà, les changements d'un inventaire sont comptés sans être journalisés un à un
+    static final int MAX_CHANGEMENTS_JOURNALISES = 100;
+
+    private final BlocRepository blocRepository;
+    private final ChambreRepository chambreRepository;
+    private final MeterRegistry registry;
+    private final AtomicLong nbBlocs = new AtomicLong();
+    private final AtomicLong nbChambres = new AtomicLong();
+    private final AtomicBoolean enCours = new AtomicBoolean();
+    // Dernier inventaire lu, null avant le premier
+    private volatile Instantane instantane;
+
+    record EtatBloc(String nomBloc, long capaciteBloc) {
+    }
+
+    record EtatChambre(long idBloc, long numeroChambre, TypeChambre typeC) {
+    }
+
+    private record Instantane(Map<Long, EtatBloc> blocs, Map<Long, EtatChambre> chambres) {
+    }
+
+    public InventaireChambreService(BlocRepository blocRepository, ChambreRepository chambreRepository, MeterRegistry registry) {
+        this.blocRepository = blocRepository;
+        this.chambreRepository = chambreRepository;
+        this.registry = registry;
+        registry.gauge(GAUGE_BLOCS, nbBlocs);
+        registry.gauge(GAUGE_CHAMBRES, nbChambres);
+    }
+
+    @Override
+    public BilanInventaire inventorier() {
+        // Une exécution encore en cours (base lente, gros volume) n'est pas doublée
+        if (!enCours.compareAndSet(false, true)) {
+            log.warn("Inventaire des chambres déjà en cours, exécution ignorée");
+            return null;
+        }
+        try {
+            Instantane nouveau = lire();
+            Instantane precedent = instantane;
+            long[] changements = new long[3];
+            if (precedent != null) {
+                int[] journalises = new int[1];
+                comparer("bloc", precedent.blocs(), nouveau.blocs(), changements, journalises);
+                comparer("chambre", precedent.chambres(), nouveau.chambres(), changements, journalises);
+                if (journalises[0] > MAX_CHANGEMENTS_JOURNALISES) {
+                    log.info("... {} autres changements non détaillés", journalises[0] - MAX_CHANGEMENTS_JOURNALISES);
+                }
+            }
+            instantane = nouveau;
+            nbBlocs.set(nouveau.blocs().size());
+            nbChambres.set(nouveau.chambres().size());
+            BilanInventaire bilan = new BilanInventaire(LocalDateTime.now(), nouveau.blocs().size(), nouveau.chambres().size(),
+                    changements[0], changements[1], changements[2]);
+            if (precedent == null || changements[0] + changements[1] + changements[2] > 0) {
+                log.info("Inventaire: {} blocs, {} chambres, {} ajouts, {} modifications, {} suppressions",
+                        bilan.nbBlocs(), bilan.nbChambres(), bilan.nbAjouts(), bilan.nbModifications(), bilan.nbSuppressions());
+            }
+            return bilan;
+        } finally {
+            enCours.set(false);
+        }
+    }
+
+    private Instantane lire() {
+        Map<Long, EtatBloc> blocs = new HashMap<>();
+        Map<Long, EtatChambre> chambres = new HashMap<>();
+        long apres = 0;
+        List<BlocResume> page;
+        do {
+            page = blocRepository.getBlocsResumeApres(apres, PageRequest.of(0, TAILLE_PAGE_BLOCS));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(page.size());
+            for (BlocResume b : page) {
+                blocs.put(b.getIdBloc(), new EtatBloc(b.getNomBloc(), b.getCapaciteBloc()));
+                ids.add(b.getIdBloc());
+            }
+            for (ChambreInventaire c : chambreRepository.getChambresInventaireParBlocs(ids)) {
+                chambres.put(c.getIdChambre(), new EtatChambre(c.getIdBloc(), c.getNumeroChambre(), c.getTypeC()));
+            }
+            apres = ids.get(ids.size() - 1);
+        } while (page.size() == TAILLE_PAGE_BLOCS);
+        return new Instantane(blocs, chambres);
+    }
+
+    // changements: ajouts, modifications, suppressions
+    private <V> void comparer(String element, Map<Long, V> avant, Map<Long, V> apres, long[] changements, int[] journalises) {
+        apres.forEach((id, etat) -> {
+            V ancien = avant.get(id);
+            if (ancien == null) {
+                changement(element, "ajout", id, null, etat, changements, 0, journalises);
+            } else if (!ancien.equals(etat)) {
+                changement(element, "modification", id, ancien, etat, changements, 1, journalises);
+            }
+        });
+        avant.forEach((id, etat) -> {
+            if (!apres.containsKey(id)) {
+                changement(element, "suppression", id, etat, null, changements, 2, journalises);
+            }
+        });
+    }
+
+    private void changement(String element, String nature, long id, Object avant, Object apres,
+                            long[] changements, int indice, int[] journalises) {
+        changements[indice]++;
+        registry.counter(COMPTEUR_CHANGEMENTS, "element", element, "nature", nature).increment();
+        if (++journalises[0] <= MAX_CHANGEMENTS_JOURNALISES) {
+            log.info("Inventaire: {} {} {}: {} -> {}", nature, element, id, avant, apres);
+        }
+    }
+}
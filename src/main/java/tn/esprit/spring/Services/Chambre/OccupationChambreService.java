@@ -0,0 +1,274 @@
+package tn.esprit.spring.Services.Chambre;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tn.esprit.spring.DAO.Entities.Chambre;
+import tn.esprit.spring.DAO.Projections.OccupationChambre;
+import tn.esprit.spring.DAO.Repositories.ChambreRepository;
+import tn.esprit.spring.Services.AnneeUniversitaire.IAnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.PeriodeAU;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+// Index en mémoire: idChambre -> nombre de réservations valides de l'année universitaire en cours.
+// Chargé au démarrage, mis à jour par ReservationService et réconcilié périodiquement avec la base.
+// Les compteurs (CompteursParChambre, sans boxing) sont lus et écrits sous le verrou de la chambre
+// (charger(): sous tous les verrous); une mise à jour faite dans une transaction est défaite si cette
+// transaction est annulée.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OccupationChambreService implements IOccupationChambreService {
+    private final ChambreRepository chambreRepository;
+    private final IAnneeUniversitaireService anneeUniversitaire;
+
+    // Verrous par chambre (striped): les réservations d'une même chambre sont
+    // sérialisées entre la vérification de capacité et la mise à jour de l'index.
+    private static final int NB_VERROUS = 256;
+    private final ReentrantLock[] verrous = creerVerrous();
+
+    private volatile CompteursParChambre occupation = new CompteursParChambre(NB_VERROUS);
+    // Ajouts à l'index dont la transaction n'est pas terminée: absents de la base, comptés en plus
+    // par le rechargement et la réconciliation
+    private final CompteursParChambre ajoutsEnCours = new CompteursParChambre(NB_VERROUS);
+    private volatile PeriodeAU periode;
+
+    private static ReentrantLock[] creerVerrous() {
+        ReentrantLock[] locks = new ReentrantLock[NB_VERROUS];
+        for (int i = 0; i < NB_VERROUS; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void charger() {
+        // Période de réservation de l'AU en cours: du 1er août au 31 juillet, pour compter aussi
+        // les réservations faites avant la rentrée (15/09) ou après la fin des cours (30/06)
+        PeriodeAU p = anneeUniversitaire.periodeReservations();
+        // Verrous pris dans l'ordre (deux chargements ne s'interbloquent pas): aucune réservation
+        // ne s'ajoute à l'ancien index entre la lecture de la base et l'échange
+        for (Lock verrou : verrous) {
+            verrou.lock();
+        }
+        try {
+            // Sous tous les verrous, aucun ajout en cours ne se termine pendant la lecture: une transaction
+            // validée avant la fin du select est comptée deux fois (chambre vue plus pleine jusqu'à la
+            // réconciliation), jamais oubliée
+            CompteursParChambre index = chargerDepuisBase(p.debut(), p.fin());
+            index.ajouterTout(ajoutsEnCours);
+            periode = p;
+            occupation = index;
+            log.info("Index d'occupation chargé: {} chambres occupées pour l'AU {}", index.taille(), p.libelle());
+        } finally {
+            for (int i = NB_VERROUS - 1; i >= 0; i--) {
+                verrous[i].unlock();
+            }
+        }
+    }
+
+    @Override
+    public Lock verrou(long idChambre) {
+        // Changement d'année traité avant de prendre le verrou
+        indexCourant();
+        return verrouDe(idChambre);
+    }
+
+    private ReentrantLock verrouDe(long idChambre) {
+        return verrous[CompteursParChambre.segment(idChambre, NB_VERROUS)];
+    }
+
+    @Override
+    public int nbReservations(long idChambre) {
+        CompteursParChambre index = indexCourant();
+        // Verrou de la chambre, déjà détenu (réentrant) pendant une réservation
+        Lock verrou = verrouDe(idChambre);
+        verrou.lock();
+        try {
+            return index.get(idChambre);
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    @Override
+    public int nbPlacesDisponibles(Chambre c) {
+        return Math.max(0, c.getTypeC().getCapacite() - nbReservations(c.getIdChambre()));
+    }
+
+    @Override
+    public void reservationAjoutee(long idChambre, LocalDate dateReservation) {
+        if (!dansAnneeCourante(dateReservation)) {
+            return;
+        }
+        Lock verrou = verrouDe(idChambre);
+        verrou.lock();
+        try {
+            occupation.ajouter(idChambre, 1);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                ajoutsEnCours.ajouter(idChambre, 1);
+                TransactionSynchronizationManager.registerSynchronization(new FinTransaction(idChambre, 1));
+            }
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    @Override
+    public void reservationAnnulee(long idChambre, LocalDate dateReservation) {
+        if (!dansAnneeCourante(dateReservation)) {
+            return;
+        }
+        Lock verrou = verrouDe(idChambre);
+        verrou.lock();
+        try {
+            if (occupation.get(idChambre) == 0) {
+                return;
+            }
+            occupation.ajouter(idChambre, -1);
+            // Place rendue tout de suite, reprise si l'annulation n'est finalement pas validée
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new FinTransaction(idChambre, -1));
+            }
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    // Fin de la transaction d'une mise à jour (ecart: +1 ajout, -1 annulation): l'ajout n'est plus en cours,
+    // et la mise à jour est défaite si la transaction a été annulée (flush, commit ou boîte d'envoi en échec)
+    private class FinTransaction implements TransactionSynchronization {
+        final long idChambre;
+        final int ecart;
+
+        FinTransaction(long idChambre, int ecart) {
+            this.idChambre = idChambre;
+            this.ecart = ecart;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            Lock verrou = verrouDe(idChambre);
+            verrou.lock();
+            try {
+                if (ecart > 0) {
+                    ajoutsEnCours.ajouter(idChambre, -1);
+                }
+                if (status == STATUS_ROLLED_BACK) {
+                    occupation.ajouter(idChambre, -ecart);
+                }
+            } finally {
+                verrou.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void reservationsAnnulees() {
+        // Les réservations de l'AU (15/09 -> 30/06) viennent d'être invalidées en masse:
+        // on recharge pour garder celles faites hors de cette période
+        charger();
+    }
+
+    @Override
+    @Scheduled(cron = "0 0 * * * *")
+    public int reconcilier() {
+        CompteursParChambre index = indexCourant();
+        PeriodeAU p = periode;
+        // Repérage par une requête groupée (sans verrou), comparée à l'index segment par segment sous le verrou
+        // du segment; puis chaque écart est recompté et corrigé sous le verrou de sa chambre: une réservation
+        // qui s'ajoute pendant la lecture n'est pas écrasée
+        CompteursParChambre base = chargerDepuisBase(p.debut(), p.fin());
+        Set<Long> ids = new HashSet<>();
+        LongConsumer comparer = id -> {
+            if (base.get(id) + ajoutsEnCours.get(id) != index.get(id)) {
+                ids.add(id);
+            }
+        };
+        for (int s = 0; s < NB_VERROUS; s++) {
+            verrous[s].lock();
+            try {
+                index.pourChaque(s, comparer);
+                base.pourChaque(s, comparer);
+            } finally {
+                verrous[s].unlock();
+            }
+        }
+        int ecarts = 0;
+        for (long id : ids) {
+            if (corriger(id, p)) {
+                ecarts++;
+            }
+        }
+        if (ecarts > 0) {
+            log.warn("Réconciliation de l'index d'occupation: {} écart(s) corrigé(s)", ecarts);
+        }
+        return ecarts;
+    }
+
+    private boolean corriger(long idChambre, PeriodeAU p) {
+        Lock verrou = verrouDe(idChambre);
+        verrou.lock();
+        try {
+            // Ajouts en cours lus avant la base, comme dans charger()
+            int enCours = ajoutsEnCours.get(idChambre);
+            int attendu = (int) chambreRepository.countReservationsValidesDeLaChambre(idChambre, p.debut(), p.fin()) + enCours;
+            CompteursParChambre index = occupation;
+            int actuel = index.get(idChambre);
+            if (actuel == attendu) {
+                return false;
+            }
+            log.warn("Ecart d'occupation pour la chambre {}: index={} base={} en cours={}", idChambre, actuel, attendu - enCours, enCours);
+            index.fixer(idChambre, attendu);
+            return true;
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    private CompteursParChambre indexCourant() {
+        PeriodeAU p = periode;
+        // Changement d'année universitaire. Pas de rechargement par un thread qui tient déjà un verrou
+        // de chambre: charger() les prend tous, deux threads dans ce cas s'attendraient l'un l'autre
+        if ((p == null || !p.equals(anneeUniversitaire.periodeReservations())) && !verrouDetenu()) {
+            charger();
+        }
+        return occupation;
+    }
+
+    private boolean verrouDetenu() {
+        for (ReentrantLock verrou : verrous) {
+            if (verrou.isHeldByCurrentThread()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean dansAnneeCourante(LocalDate date) {
+        indexCourant();
+        PeriodeAU p = periode;
+        return p != null && p.contient(date);
+    }
+
+    // Nouvel index, pas encore publié: rempli sans verrou
+    private CompteursParChambre chargerDepuisBase(LocalDate debut, LocalDate fin) {
+        CompteursParChambre index = new CompteursParChambre(NB_VERROUS);
+        for (OccupationChambre o : chambreRepository.countReservationsValidesParChambre(debut, fin)) {
+            index.ajouter(o.getIdChambre(), (int) o.getNbReservations());
+        }
+        return index;
+    }
+}
@@ -0,0 +1,7 @@
+package tn.esprit.spring.Services.Chambre;
+
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+
+// Places restantes d'une chambre pour l'année universitaire en cours
+public record PlacesDisponibles(long idChambre, long numeroChambre, TypeChambre typeC, int nbPlacesDisponibles) {
+}
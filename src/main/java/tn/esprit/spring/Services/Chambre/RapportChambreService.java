@@ -0,0 +1,124 @@
+package tn.esprit.spring.Services.Chambre;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.RepartitionChambres;
+import tn.esprit.spring.DAO.Repositories.ChambreRepository;
+import tn.esprit.spring.Services.AnneeUniversitaire.IAnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.PeriodeAU;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Rapport de répartition calculé par une seule requête group by, gardé en mémoire et
+// rafraîchi périodiquement: l'endpoint REST et les gauges Prometheus lisent ce rapport, pas la base.
+// Gauges agrégées par foyer et type (pas par bloc) pour borner le nombre de séries.
+@Service
+@Slf4j
+public class RapportChambreService implements IRapportChambreService {
+    public static final String GAUGE_CHAMBRES = "foyer.chambres";
+    public static final String GAUGE_PLACES_OCCUPEES = "foyer.chambres.places.occupees";
+    public static final String GAUGE_OCCUPATION = "foyer.chambres.occupation";
+
+    private final ChambreRepository repo;
+    private final IAnneeUniversitaireService anneeUniversitaire;
+    private final MultiGauge chambres;
+    private final MultiGauge placesOccupees;
+    private final MultiGauge occupation;
+    private volatile RapportRepartition rapport;
+
+    public RapportChambreService(ChambreRepository repo, IAnneeUniversitaireService anneeUniversitaire, MeterRegistry registry) {
+        this.repo = repo;
+        this.anneeUniversitaire = anneeUniversitaire;
+        this.chambres = MultiGauge.builder(GAUGE_CHAMBRES)
+                .description("Nombre de chambres par foyer et type").register(registry);
+        this.placesOccupees = MultiGauge.builder(GAUGE_PLACES_OCCUPEES)
+                .description("Places occupées dans l'année universitaire en cours").register(registry);
+        this.occupation = MultiGauge.builder(GAUGE_OCCUPATION)
+                .description("Taux d'occupation des places (0..1)").register(registry);
+    }
+
+    @Override
+    public RapportRepartition rapport() {
+        RapportRepartition r = rapport;
+        return r != null ? r : rafraichir();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${foyer.rapport.chambres.rafraichissement:60000}", initialDelay = 10000)
+    public synchronized RapportRepartition rafraichir() {
+        // Même période que l'index d'occupation: du 1er août au 31 juillet
+        PeriodeAU periode = anneeUniversitaire.periodeReservations();
+        RapportRepartition r = calculer(repo.getRepartitionChambres(periode.debut(), periode.fin()));
+        publier(r);
+        rapport = r;
+        return r;
+    }
+
+    private static RapportRepartition calculer(List<RepartitionChambres> resultat) {
+        List<RapportRepartition.Ligne> lignes = new ArrayList<>(resultat.size());
+        Map<TypeChambre, Long> parType = new EnumMap<>(TypeChambre.class);
+        long nbChambres = 0;
+        long nbPlaces = 0;
+        long nbOccupees = 0;
+        for (RepartitionChambres l : resultat) {
+            // Type inconnu: capacité inconnue, aucune place comptée (le rafraîchissement planifié ne doit pas échouer)
+            long places = l.getTypeC() == null ? 0 : l.getNbChambres() * l.getTypeC().getCapacite();
+            lignes.add(new RapportRepartition.Ligne(l.getIdFoyer(), l.getNomFoyer(), l.getIdBloc(), l.getNomBloc(),
+                    l.getTypeC(), l.getNbChambres(), places, l.getNbPlacesOccupees(),
+                    RapportRepartition.taux(l.getNbPlacesOccupees(), places)));
+            if (l.getTypeC() != null) {
+                parType.merge(l.getTypeC(), l.getNbChambres(), Long::sum);
+            }
+            nbChambres += l.getNbChambres();
+            nbPlaces += places;
+            nbOccupees += l.getNbPlacesOccupees();
+        }
+        // Tri par bloc puis type en Java: l'ordre d'une colonne enum dépend de la base; sans bloc ni type en dernier
+        lignes.sort(Comparator.comparing(RapportRepartition.Ligne::idBloc, Comparator.nullsLast(Comparator.<Long>naturalOrder()))
+                .thenComparing(RapportRepartition.Ligne::typeC, Comparator.nullsLast(Comparator.<TypeChambre>naturalOrder())));
+        Map<TypeChambre, Double> pourcentages = new EnumMap<>(TypeChambre.class);
+        for (TypeChambre type : TypeChambre.values()) {
+            pourcentages.put(type, 100 * RapportRepartition.taux(parType.getOrDefault(type, 0L), nbChambres));
+        }
+        return new RapportRepartition(LocalDateTime.now(), nbChambres, nbPlaces, nbOccupees,
+                RapportRepartition.taux(nbOccupees, nbPlaces), Collections.unmodifiableMap(pourcentages),
+                Collections.unmodifiableList(lignes));
+    }
+
+    private void publier(RapportRepartition r) {
+        Map<Tags, long[]> parFoyerEtType = new HashMap<>();
+        for (RapportRepartition.Ligne l : r.lignes()) {
+            Tags tags = Tags.of("foyer", l.nomFoyer() == null ? "aucun" : l.nomFoyer(),
+                    "type", l.typeC() == null ? "aucun" : l.typeC().name());
+            long[] totaux = parFoyerEtType.computeIfAbsent(tags, t -> new long[3]);
+            totaux[0] += l.nbChambres();
+            totaux[1] += l.nbPlaces();
+            totaux[2] += l.nbPlacesOccupees();
+        }
+        List<MultiGauge.Row<?>> lignesChambres = new ArrayList<>();
+        List<MultiGauge.Row<?>> lignesOccupees = new ArrayList<>();
+        List<MultiGauge.Row<?>> lignesOccupation = new ArrayList<>();
+        parFoyerEtType.forEach((tags, t) -> {
+            lignesChambres.add(MultiGauge.Row.of(tags, t[0]));
+            lignesOccupees.add(MultiGauge.Row.of(tags, t[2]));
+            lignesOccupation.add(MultiGauge.Row.of(tags, RapportRepartition.taux(t[2], t[1])));
+        });
+        // overwrite: les foyers disparus depuis le dernier calcul ne sont plus exportés
+        chambres.register(lignesChambres, true);
+        placesOccupees.register(lignesOccupees, true);
+        occupation.register(lignesOccupation, true);
+        log.debug("Rapport de répartition: {} chambres, taux d'occupation {}", r.nbChambres(), r.tauxOccupation());
+    }
+}
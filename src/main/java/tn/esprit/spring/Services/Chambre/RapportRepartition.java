@@ -0,0 +1,22 @@
+package tn.esprit.spring.Services.Chambre;
+
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Répartition des chambres par foyer, bloc et type, avec l'occupation de l'année universitaire en cours.
+// Les pourcentages et taux valent 0 quand il n'y a aucune chambre (ou aucune place).
+// Les chambres sans bloc ont une ligne avec idBloc null; celles sans type comptent dans nbChambres mais sans place.
+public record RapportRepartition(LocalDateTime calculeLe, long nbChambres, long nbPlaces, long nbPlacesOccupees,
+                                 double tauxOccupation, Map<TypeChambre, Double> pourcentageParType, List<Ligne> lignes) {
+
+    public record Ligne(Long idFoyer, String nomFoyer, Long idBloc, String nomBloc, TypeChambre typeC,
+                        long nbChambres, long nbPlaces, long nbPlacesOccupees, double tauxOccupation) {
+    }
+
+    static double taux(long partie, long total) {
+        return total == 0 ? 0 : (double) partie / total;
+    }
+}
@@ -0,0 +1,70 @@
+package tn.esprit.spring.Services.Chambre;
+
+import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.NbChambresParType;
+import tn.esprit.spring.DAO.Repositories.ChambreRepository;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Nombre de chambres par type et par bloc, calculé par un seul group by et mis en cache.
+// Le cache est vidé par les écritures de chambres (ChambreService, BlocService).
+@Service
+@AllArgsConstructor
+public class StatistiquesChambreService implements IStatistiquesChambreService {
+    public static final String CACHE = "statistiquesChambres";
+
+    ChambreRepository repo;
+
+    // Toutes les chambres, y compris celles qui ne sont affectées à aucun bloc
+    @Override
+    @Cacheable(cacheNames = CACHE, key = "'total'")
+    public Map<TypeChambre, Long> nbChambresParType() {
+        return Collections.unmodifiableMap(parType(repo.countChambresParType()));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CACHE, key = "#idBloc")
+    public Map<TypeChambre, Long> nbChambresParType(long idBloc) {
+        return Collections.unmodifiableMap(parType(repo.countChambresParTypeDuBloc(idBloc)));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CACHE, key = "'tous'")
+    public Map<Long, Map<TypeChambre, Long>> nbChambresParTypeEtBloc() {
+        Map<Long, Map<TypeChambre, Long>> parBloc = new TreeMap<>();
+        for (NbChambresParType ligne : repo.countChambresParTypeEtBloc()) {
+            Map<TypeChambre, Long> types = parBloc.computeIfAbsent(ligne.getIdBloc(), id -> zeros());
+            if (ligne.getTypeC() != null) {
+                types.put(ligne.getTypeC(), ligne.getNbChambres());
+            }
+        }
+        parBloc.replaceAll((id, types) -> Collections.unmodifiableMap(types));
+        return Collections.unmodifiableMap(parBloc);
+    }
+
+    // Tous les types présents, à 0 quand le bloc n'en a pas
+    private static Map<TypeChambre, Long> parType(List<NbChambresParType> lignes) {
+        Map<TypeChambre, Long> types = zeros();
+        for (NbChambresParType ligne : lignes) {
+            if (ligne.getTypeC() != null) {
+                types.put(ligne.getTypeC(), ligne.getNbChambres());
+            }
+        }
+        return types;
+    }
+
+    private static Map<TypeChambre, Long> zeros() {
+        Map<TypeChambre, Long> types = new EnumMap<>(TypeChambre.class);
+        for (TypeChambre type : TypeChambre.values()) {
+            types.put(type, 0L);
+        }
+        return types;
+    }
+}
@@ -1,13 +1,20 @@
 package tn.esprit.spring.Services.Etudiant;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import tn.esprit.spring.DAO.Entities.Etudiant;
 import tn.esprit.spring.DAO.Entities.Reservation;
+import tn.esprit.spring.DAO.Projections.EtudiantVue;
 import tn.esprit.spring.DAO.Repositories.EtudiantRepository;
 import tn.esprit.spring.DAO.Repositories.ReservationRepository;
+import tn.esprit.spring.Services.PageCurseur;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -25,11 +32,46 @@ public class EtudiantService implements IEtudiantService {
         return repo.findAll();
     }
 
+    @Override
+    public Page<Etudiant> findAll(Pageable pageable) {
+        return repo.findAll(pageable);
+    }
+
+    @Override
+    public List<Etudiant> findAllApres(long id, int taille) {
+        return repo.findByIdEtudiantGreaterThanOrderByIdEtudiant(id, PageRequest.of(0, taille));
+    }
+
+    @Override
+    public Stream<EtudiantVue> streamVues() {
+        return repo.streamVues();
+    }
+
     @Override
     public Etudiant findById(long id) {
         return repo.findById(id).get();
     }
 
+    @Override
+    public List<EtudiantVue> findAllVues() {
+        return repo.findAllVues();
+    }
+
+    @Override
+    public Page<EtudiantVue> findAllVues(Pageable pageable) {
+        return repo.findAllVues(pageable);
+    }
+
+    @Override
+    public List<EtudiantVue> findAllVuesApres(long id, int taille) {
+        return repo.findVuesApres(id, PageRequest.of(0, taille));
+    }
+
+    @Override
+    public EtudiantVue findVueById(long id) {
+        return repo.findVueById(id).orElseThrow();
+    }
+
     @Override
     public void deleteById(long id) {
         repo.deleteById(id);
@@ -45,6 +87,25 @@ public class EtudiantService implements IEtudiantService {
         return repo.selectJPQL(nom);
     }
 
+    // Une ligne de plus que la taille demandée pour savoir s'il reste une page
+    @Override
+    public PageCurseur<EtudiantVue> rechercherParNom(String nom, long apres, int taille) {
+        return PageCurseur.de(repo.findByNomEtContainingAndIdEtudiantGreaterThanOrderByIdEtudiant(
+                nom, apres, PageRequest.of(0, taille + 1)), taille, EtudiantVue::getIdEtudiant);
+    }
+
+    @Override
+    public PageCurseur<EtudiantVue> rechercherParNomLike(String motif, long apres, int taille) {
+        return PageCurseur.de(repo.findByNomEtLikeAndIdEtudiantGreaterThanOrderByIdEtudiant(
+                motif, apres, PageRequest.of(0, taille + 1)), taille, EtudiantVue::getIdEtudiant);
+    }
+
+    @Override
+    public PageCurseur<EtudiantVue> rechercherParDateNaissance(LocalDate d1, LocalDate d2, long apres, int taille) {
+        return PageCurseur.de(repo.findByDateNaissanceBetweenAndIdEtudiantGreaterThanOrderByIdEtudiant(
+                d1, d2, apres, PageRequest.of(0, taille + 1)), taille, EtudiantVue::getIdEtudiant);
+    }
+
     @Override
     public void affecterReservationAEtudiant
             (String idR, String nomE, String prenomE) {
@@ -1,16 +1,32 @@
 package tn.esprit.spring.Services.Etudiant;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import tn.esprit.spring.DAO.Entities.Etudiant;
+import tn.esprit.spring.DAO.Projections.EtudiantVue;
+import tn.esprit.spring.Services.PageCurseur;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface IEtudiantService {
     Etudiant addOrUpdate(Etudiant e);
     List<Etudiant> findAll();
+    Page<Etudiant> findAll(Pageable pageable);
+    List<Etudiant> findAllApres(long id, int taille);
+    Stream<EtudiantVue> streamVues();
     Etudiant findById(long id);
+    List<EtudiantVue> findAllVues();
+    Page<EtudiantVue> findAllVues(Pageable pageable);
+    List<EtudiantVue> findAllVuesApres(long id, int taille);
+    EtudiantVue findVueById(long id);
     void deleteById(long id);
     void delete(Etudiant e);
     List<Etudiant> selectJPQL(String nom);
+    PageCurseur<EtudiantVue> rechercherParNom(String nom, long apres, int taille);
+    PageCurseur<EtudiantVue> rechercherParNomLike(String motif, long apres, int taille);
+    PageCurseur<EtudiantVue> rechercherParDateNaissance(LocalDate d1, LocalDate d2, long apres, int taille);
     void affecterReservationAEtudiant(String idR,String nomE, String prenomE);
     void desaffecterReservationAEtudiant(String idR, String nomE, String prenomE);
 }
@@ -1,14 +1,20 @@
 package tn.esprit.spring.Services.Foyer;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import tn.esprit.spring.DAO.Entities.*;
+import tn.esprit.spring.DAO.Projections.FoyerVue;
 import tn.esprit.spring.DAO.Repositories.BlocRepository;
 import tn.esprit.spring.DAO.Repositories.EtudiantRepository;
 import tn.esprit.spring.DAO.Repositories.FoyerRepository;
 import tn.esprit.spring.DAO.Repositories.UniversiteRepository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -28,11 +34,46 @@ public class FoyerService implements IFoyerService {
         return repo.findAll();
     }
 
+    @Override
+    public Page<Foyer> findAll(Pageable pageable) {
+        return repo.findAll(pageable);
+    }
+
+    @Override
+    public List<Foyer> findAllApres(long id, int taille) {
+        return repo.findByIdFoyerGreaterThanOrderByIdFoyer(id, PageRequest.of(0, taille));
+    }
+
+    @Override
+    public Stream<FoyerVue> streamVues() {
+        return repo.streamVues();
+    }
+
     @Override
     public Foyer findById(long id) {
         return repo.findById(id).get();
     }
 
+    @Override
+    public List<FoyerVue> findAllVues() {
+        return repo.findAllVues();
+    }
+
+    @Override
+    public Page<FoyerVue> findAllVues(Pageable pageable) {
+        return repo.findAllVues(pageable);
+    }
+
+    @Override
+    public List<FoyerVue> findAllVuesApres(long id, int taille) {
+        return repo.findVuesApres(id, PageRequest.of(0, taille));
+    }
+
+    @Override
+    public FoyerVue findVueById(long id) {
+        return repo.findVueById(id).orElseThrow();
+    }
+
     @Override
     public void deleteById(long id) {
         repo.deleteById(id);
@@ -71,6 +112,7 @@ public class FoyerService implements IFoyerService {
     }
 
     @Override
+    @Transactional
     public Foyer ajoutFoyerEtBlocs(Foyer foyer) {
         //Foyer child / Bloc parent
         //Objet foyer = attribut objet foyer + les blocs associés
@@ -82,11 +124,19 @@ public class FoyerService implements IFoyerService {
 //        return f;
         //-----------------------------------------
         List<Bloc> blocs = foyer.getBlocs();
+        if (blocs == null || blocs.isEmpty()) {
+            return repo.save(foyer);
+        }
+        // Blocs existants chargés en une requête IN avant le merge du foyer, qui sinon les relit un à un
+        List<Long> existants = blocs.stream().map(Bloc::getIdBloc).filter(id -> id != 0).toList();
+        if (!existants.isEmpty()) {
+            blocRepository.findAllById(existants);
+        }
         foyer = repo.save(foyer);
         for (Bloc b : blocs) {
             b.setFoyer(foyer);
-            blocRepository.save(b);
         }
+        blocRepository.saveAll(blocs);
         return foyer;
     }
 
@@ -1,18 +1,32 @@
 package tn.esprit.spring.Services.Foyer;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import tn.esprit.spring.DAO.Entities.Etudiant;
 import tn.esprit.spring.DAO.Entities.Foyer;
 import tn.esprit.spring.DAO.Entities.Reservation;
 import tn.esprit.spring.DAO.Entities.Universite;
+import tn.esprit.spring.DAO.Projections.FoyerVue;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface IFoyerService {
     Foyer addOrUpdate(Foyer f);
 
     List<Foyer> findAll();
 
+    Page<Foyer> findAll(Pageable pageable);
+
+    List<Foyer> findAllApres(long id, int taille);
+
+    Stream<FoyerVue> streamVues();
+
     Foyer findById(long id);
+    List<FoyerVue> findAllVues();
+    Page<FoyerVue> findAllVues(Pageable pageable);
+    List<FoyerVue> findAllVuesApres(long id, int taille);
+    FoyerVue findVueById(long id);
 
     void deleteById(long id);
 
@@ -0,0 +1,53 @@
+package tn.esprit.spring.Services.Notification;
+
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.Chambre;
+import tn.esprit.spring.DAO.Entities.Etudiant;
+import tn.esprit.spring.DAO.Entities.MessageSortant;
+import tn.esprit.spring.DAO.Entities.Reservation;
+import tn.esprit.spring.DAO.Repositories.MessageSortantRepository;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Écrit les mails dans la transaction de la réservation (MANDATORY): annulée avec elle, jamais envoyée seule.
+// L'envoi SMTP est fait plus tard par EnvoiMessagesService, hors de la requête.
+@Service
+@AllArgsConstructor
+public class BoiteEnvoiService implements IBoiteEnvoiService {
+    MessageSortantRepository repo;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void confirmationReservation(Reservation reservation, Chambre chambre, Etudiant etudiant) {
+        ecrire(etudiant, "Confirmation de votre réservation " + reservation.getIdReservation(),
+                "Votre réservation " + reservation.getIdReservation() + " est confirmée: chambre "
+                        + chambre.getNumeroChambre() + " (" + chambre.getTypeC() + ")"
+                        + (chambre.getBloc() != null ? ", bloc " + chambre.getBloc().getNomBloc() : "") + ".");
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void annulationReservation(Reservation reservation, Etudiant etudiant) {
+        ecrire(etudiant, "Annulation de votre réservation " + reservation.getIdReservation(),
+                "Votre réservation " + reservation.getIdReservation() + " a été annulée.");
+    }
+
+    private void ecrire(Etudiant etudiant, String sujet, String texte) {
+        if (etudiant.getEmail() == null || etudiant.getEmail().isBlank()) {
+            return;
+        }
+        LocalDateTime maintenant = LocalDateTime.now();
+        repo.save(MessageSortant.builder()
+                .destinataire(etudiant.getEmail())
+                .sujet(sujet)
+                .corps("Bonjour " + Objects.toString(etudiant.getPrenomEt(), "") + " "
+                        + Objects.toString(etudiant.getNomEt(), "") + ",\n\n" + texte + "\n\nLe service du foyer")
+                .dateCreation(maintenant)
+                .prochaineTentative(maintenant)
+                .build());
+    }
+}
@@ -0,0 +1,150 @@
+package tn.esprit.spring.Services.Notification;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tn.esprit.spring.DAO.Entities.MessageSortant;
+import tn.esprit.spring.DAO.Repositories.MessageSortantRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Vide la boîte d'envoi par lots: une connexion SMTP par lot, les messages envoyés sont supprimés en une requête,
+// les autres reprogrammés (attente doublée à chaque échec) ou abandonnés si l'adresse est invalide.
+// Actif dès que spring.mail.host est renseigné; sinon les messages s'accumulent en table.
+@Service
+@ConditionalOnProperty(name = "spring.mail.host")
+@Slf4j
+public class EnvoiMessagesService implements IEnvoiMessagesService {
+    private final MessageSortantRepository repo;
+    private final JavaMailSender mailSender;
+    private final ParametresEnvoiMessages parametres;
+    // Un seul envoi à la fois (passage planifié et appel direct): un message n'est jamais envoyé deux fois
+    private final Lock verrou = new ReentrantLock();
+
+    public EnvoiMessagesService(MessageSortantRepository repo, JavaMailSender mailSender, ParametresEnvoiMessages parametres) {
+        this.repo = repo;
+        this.mailSender = mailSender;
+        this.parametres = parametres;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${foyer.mail.envoi.delai:5000}", initialDelayString = "${foyer.mail.envoi.delai:5000}")
+    public int envoyer() {
+        verrou.lock();
+        try {
+            return envoyerMessagesDus();
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    private int envoyerMessagesDus() {
+        int total = 0;
+        List<MessageSortant> lot;
+        do {
+            lot = repo.findByProchaineTentativeLessThanEqualOrderByIdMessage(LocalDateTime.now(),
+                    PageRequest.of(0, parametres.getTailleLot()));
+            if (lot.isEmpty()) {
+                break;
+            }
+            int envoyes = envoyerLot(lot);
+            total += envoyes;
+            // Serveur SMTP indisponible: inutile d'essayer les lots suivants maintenant
+            if (envoyes == 0) {
+                break;
+            }
+        } while (lot.size() == parametres.getTailleLot());
+        if (total > 0) {
+            log.info(total + " mails envoyés");
+        }
+        return total;
+    }
+
+    private int envoyerLot(List<MessageSortant> lot) {
+        Map<MimeMessage, MessageSortant> prets = new LinkedHashMap<>();
+        List<MessageSortant> echecs = new ArrayList<>();
+        for (MessageSortant message : lot) {
+            try {
+                prets.put(preparer(message), message);
+            } catch (MessagingException e) {
+                // Adresse ou contenu invalide: une nouvelle tentative échouerait de même
+                echec(message, e, true);
+                echecs.add(message);
+            }
+        }
+        Map<Object, Exception> refuses = Map.of();
+        if (!prets.isEmpty()) {
+            try {
+                mailSender.send(prets.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                refuses = e.getFailedMessages();
+            } catch (MailException e) {
+                Map<Object, Exception> tous = new LinkedHashMap<>();
+                prets.keySet().forEach(mime -> tous.put(mime, e));
+                refuses = tous;
+            }
+        }
+        List<Long> envoyes = new ArrayList<>();
+        for (Map.Entry<MimeMessage, MessageSortant> pret : prets.entrySet()) {
+            Exception refus = refuses.get(pret.getKey());
+            if (refus == null) {
+                envoyes.add(pret.getValue().getIdMessage());
+            } else {
+                echec(pret.getValue(), refus, false);
+                echecs.add(pret.getValue());
+            }
+        }
+        if (!envoyes.isEmpty()) {
+            repo.deleteAllByIdInBatch(envoyes);
+        }
+        if (!echecs.isEmpty()) {
+            repo.saveAll(echecs);
+        }
+        return envoyes.size();
+    }
+
+    private MimeMessage preparer(MessageSortant message) throws MessagingException {
+        MimeMessage mime = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mime, "UTF-8");
+        helper.setValidateAddresses(true);
+        helper.setFrom(parametres.getExpediteur());
+        helper.setTo(message.getDestinataire());
+        helper.setSubject(message.getSujet());
+        helper.setText(message.getCorps());
+        return mime;
+    }
+
+    private void echec(MessageSortant message, Exception e, boolean definitif) {
+        int tentatives = message.getNbTentatives() + 1;
+        message.setNbTentatives(tentatives);
+        String erreur = String.valueOf(e.getMessage());
+        message.setDerniereErreur(erreur.length() > 500 ? erreur.substring(0, 500) : erreur);
+        if (definitif || tentatives >= parametres.getTentativesMax()) {
+            message.setProchaineTentative(null);
+            log.error("Mail " + message.getIdMessage() + " à " + message.getDestinataire() + " abandonné: " + erreur);
+        } else {
+            message.setProchaineTentative(LocalDateTime.now().plus(attente(tentatives)));
+        }
+    }
+
+    // attenteInitiale, doublée à chaque échec, plafonnée à attenteMax
+    Duration attente(int tentatives) {
+        Duration attente = parametres.getAttenteInitiale().multipliedBy(1L << Math.min(tentatives - 1, 30));
+        return attente.compareTo(parametres.getAttenteMax()) > 0 ? parametres.getAttenteMax() : attente;
+    }
+}
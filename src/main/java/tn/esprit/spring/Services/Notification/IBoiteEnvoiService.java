@@ -0,0 +1,11 @@
+package tn.esprit.spring.Services.Notification;
+
+import tn.esprit.spring.DAO.Entities.Chambre;
+import tn.esprit.spring.DAO.Entities.Etudiant;
+import tn.esprit.spring.DAO.Entities.Reservation;
+
+public interface IBoiteEnvoiService {
+    void confirmationReservation(Reservation reservation, Chambre chambre, Etudiant etudiant);
+
+    void annulationReservation(Reservation reservation, Etudiant etudiant);
+}
@@ -0,0 +1,6 @@
+package tn.esprit.spring.Services.Notification;
+
+public interface IEnvoiMessagesService {
+    // Envoie les messages dus, par lots; renvoie le nombre de messages envoyés
+    int envoyer();
+}
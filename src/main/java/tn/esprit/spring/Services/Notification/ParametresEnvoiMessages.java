@@ -0,0 +1,25 @@
+package tn.esprit.spring.Services.Notification;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Envoi des mails de la boîte d'envoi (foyer.mail.envoi.*). Après un échec, la tentative suivante attend
+// attenteInitiale, doublée à chaque nouvel échec jusqu'à attenteMax; abandon après tentativesMax.
+@Component
+@ConfigurationProperties(prefix = "foyer.mail.envoi")
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ParametresEnvoiMessages {
+    String expediteur = "foyer@esprit.tn";
+    int tailleLot = 100;
+    int tentativesMax = 8;
+    Duration attenteInitiale = Duration.ofMinutes(1);
+    Duration attenteMax = Duration.ofHours(1);
+}
@@ -0,0 +1,20 @@
+package tn.esprit.spring.Services;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Page d'une pagination par clé: curseurSuivant est le dernier id de la page,
+// à renvoyer tel quel pour obtenir la suite (null quand il n'y a plus rien).
+// Les endpoints findAllApres des contrôleurs suivent le même principe: passer le dernier id reçu dans apres,
+// le repository lit la page suivante (id > apres, trié par id) sans offset.
+public record PageCurseur<T>(List<T> contenu, Long curseurSuivant) {
+
+    // lignes: résultat d'une requête limitée à taille + 1, la ligne en trop indique qu'il reste une page
+    public static <T> PageCurseur<T> de(List<T> lignes, int taille, Function<T, Long> id) {
+        if (lignes.size() <= taille) {
+            return new PageCurseur<>(lignes, null);
+        }
+        List<T> contenu = lignes.subList(0, taille);
+        return new PageCurseur<>(contenu, id.apply(contenu.get(taille - 1)));
+    }
+}
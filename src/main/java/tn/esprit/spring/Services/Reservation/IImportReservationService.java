@@ -0,0 +1,11 @@
+package tn.esprit.spring.Services.Reservation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface IImportReservationService {
+    List<ResultatImportReservation> importerReservations(List<LigneImportReservation> lignes);
+    long importerReservations(InputStream json, Consumer<ResultatImportReservation> resultats) throws IOException;
+}
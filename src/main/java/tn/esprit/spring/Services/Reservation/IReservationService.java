@@ -1,14 +1,21 @@
 package tn.esprit.spring.Services.Reservation;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import tn.esprit.spring.DAO.Entities.Foyer;
 import tn.esprit.spring.DAO.Entities.Reservation;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface IReservationService {
     Reservation addOrUpdate(Reservation r);
     List<Reservation> findAll();
+    Page<Reservation> findAll(Pageable pageable);
+    List<Reservation> findAllApres(String id, int taille);
+    Stream<Reservation> streamAll();
     Reservation findById(String id);
     void deleteById(String id);
     void delete(Reservation r);
@@ -18,6 +25,9 @@ public interface IReservationService {
 
     void annulerReservations();
 
+    // Variante par lots: chaque id invalidé est transmis à audit
+    long annulerReservations(Consumer<String> audit);
+
 
     void affectReservationAChambre(String idRes,long idChambre);
     void deaffectReservationAChambre(String idRes, long idChambre);
@@ -0,0 +1,176 @@
+package tn.esprit.spring.Services.Reservation;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.spring.DAO.Entities.Chambre;
+import tn.esprit.spring.DAO.Entities.Etudiant;
+import tn.esprit.spring.DAO.Entities.Reservation;
+import tn.esprit.spring.DAO.Repositories.ChambreRepository;
+import tn.esprit.spring.DAO.Repositories.EtudiantRepository;
+import tn.esprit.spring.DAO.Repositories.ReservationRepository;
+import tn.esprit.spring.Services.AnneeUniversitaire.IAnneeUniversitaireService;
+import tn.esprit.spring.Services.Chambre.IOccupationChambreService;
+import tn.esprit.spring.Services.Reservation.ResultatImportReservation.Statut;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+// Import en masse des réservations (rentrée): les lignes sont lues en flux et traitées par lot;
+// les chambres, les étudiants et les réservations existantes sont chargés par lot, et les insertions
+// sont envoyées en batch JDBC (hibernate.jdbc.batch_size) dans une transaction par lot.
+@Service
+@AllArgsConstructor
+@Slf4j
+public class ImportReservationService implements IImportReservationService {
+    static final int TAILLE_LOT = 500;
+
+    ReservationRepository repo;
+    ChambreRepository chambreRepository;
+    EtudiantRepository etudiantRepository;
+    IOccupationChambreService occupationChambreService;
+    IAnneeUniversitaireService anneeUniversitaire;
+    EntityManager entityManager;
+    TransactionTemplate transactionTemplate;
+    ObjectMapper objectMapper;
+
+    @Override
+    public List<ResultatImportReservation> importerReservations(List<LigneImportReservation> lignes) {
+        List<ResultatImportReservation> resultats = new ArrayList<>(lignes.size());
+        importerReservations(lignes.iterator(), resultats::add);
+        return resultats;
+    }
+
+    // Tableau JSON lu élément par élément (MappingIterator): seul le lot en cours est en mémoire,
+    // ses résultats sont passés à resultats dès que le lot est traité
+    @Override
+    public long importerReservations(InputStream json, Consumer<ResultatImportReservation> resultats) throws IOException {
+        try (MappingIterator<LigneImportReservation> lignes =
+                     objectMapper.readerFor(LigneImportReservation.class).readValues(json)) {
+            return importerReservations(lignes, resultats);
+        }
+    }
+
+    private long importerReservations(Iterator<LigneImportReservation> lignes, Consumer<ResultatImportReservation> resultats) {
+        long total = 0;
+        List<LigneImportReservation> lot = new ArrayList<>(TAILLE_LOT);
+        while (lignes.hasNext()) {
+            lot.add(lignes.next());
+            if (lot.size() == TAILLE_LOT || !lignes.hasNext()) {
+                importerLot(lot).forEach(resultats);
+                total += lot.size();
+                lot.clear();
+            }
+        }
+        log.info("Import de " + total + " réservations terminé");
+        return total;
+    }
+
+    private List<ResultatImportReservation> importerLot(List<LigneImportReservation> lot) {
+        List<ResultatImportReservation> resultats = new ArrayList<>(lot.size());
+        // Places prises dans l'index pour ce lot: rendues par l'index lui-même si la transaction échoue
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> numeros = new HashSet<>();
+                Set<Long> cins = new HashSet<>();
+                for (LigneImportReservation ligne : lot) {
+                    numeros.add(ligne.numChambre());
+                    cins.add(ligne.cin());
+                }
+                Map<Long, Chambre> chambres = new HashMap<>();
+                for (Chambre c : chambreRepository.getChambresAvecReservationsParNumeros(numeros)) {
+                    chambres.put(c.getNumeroChambre(), c);
+                }
+                Map<Long, Etudiant> etudiants = new HashMap<>();
+                for (Etudiant e : etudiantRepository.findByCinIn(cins)) {
+                    etudiants.put(e.getCin(), e);
+                }
+                Map<LigneImportReservation, String> ids = new HashMap<>();
+                for (LigneImportReservation ligne : lot) {
+                    Chambre c = chambres.get(ligne.numChambre());
+                    if (c != null) {
+                        ids.put(ligne, idReservation(c, ligne.cin()));
+                    }
+                }
+                Set<String> existantes = new HashSet<>();
+                for (Reservation r : repo.findAllById(ids.values())) {
+                    existantes.add(r.getIdReservation());
+                }
+
+                for (LigneImportReservation ligne : lot) {
+                    Chambre chambre = chambres.get(ligne.numChambre());
+                    Etudiant etudiant = etudiants.get(ligne.cin());
+                    String id = ids.get(ligne);
+                    Statut statut;
+                    if (chambre == null) {
+                        statut = Statut.CHAMBRE_INTROUVABLE;
+                    } else if (etudiant == null) {
+                        statut = Statut.ETUDIANT_INTROUVABLE;
+                    } else if (!existantes.add(id)) {
+                        statut = Statut.DEJA_RESERVEE;
+                    } else {
+                        Reservation reservation = reserver(chambre, etudiant, id);
+                        if (reservation == null) {
+                            statut = Statut.CHAMBRE_COMPLETE;
+                        } else {
+                            statut = Statut.RESERVEE;
+                        }
+                    }
+                    resultats.add(new ResultatImportReservation(ligne.numChambre(), ligne.cin(),
+                            statut == Statut.RESERVEE ? id : null, statut));
+                }
+            });
+        } catch (RuntimeException ex) {
+            resultats.clear();
+            if (lot.size() == 1) {
+                log.error("Echec de l'import de la réservation " + lot.get(0), ex);
+                LigneImportReservation ligne = lot.get(0);
+                resultats.add(new ResultatImportReservation(ligne.numChambre(), ligne.cin(), null, Statut.ERREUR));
+            } else {
+                // Tout le lot est annulé (au flush ou au commit): repris ligne par ligne, une transaction chacune,
+                // pour que seules les lignes fautives soient en ERREUR
+                log.warn("Echec de l'import d'un lot de " + lot.size() + " réservations, reprise ligne par ligne", ex);
+                for (LigneImportReservation ligne : lot) {
+                    resultats.addAll(importerLot(List.of(ligne)));
+                }
+            }
+        }
+        return resultats;
+    }
+
+    private Reservation reserver(Chambre chambre, Etudiant etudiant, String id) {
+        Lock verrou = occupationChambreService.verrou(chambre.getIdChambre());
+        verrou.lock();
+        try {
+            if (occupationChambreService.nbReservations(chambre.getIdChambre()) >= chambre.getTypeC().getCapacite()) {
+                return null;
+            }
+            Reservation reservation = Reservation.builder()
+                    .estValide(true)
+                    .anneeUniversitaire(LocalDate.now())
+                    .idReservation(id)
+                    .build();
+            reservation.getEtudiants().add(etudiant);
+            // persist (et non save/merge): pas de select par réservation, insertions en batch
+            entityManager.persist(reservation);
+            chambre.getReservations().add(reservation);
+            occupationChambreService.reservationAjoutee(chambre.getIdChambre(), reservation.getAnneeUniversitaire());
+            return reservation;
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    private String idReservation(Chambre chambre, long cin) {
+        String nomBloc = chambre.getBloc() == null ? null : chambre.getBloc().getNomBloc();
+        return anneeUniversitaire.courante(chambre).libelle() + "-" + nomBloc + "-" + chambre.getNumeroChambre() + "-" + cin;
+    }
+}
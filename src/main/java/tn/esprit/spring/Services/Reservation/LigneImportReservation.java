@@ -0,0 +1,4 @@
+package tn.esprit.spring.Services.Reservation;
+
+public record LigneImportReservation(long numChambre, long cin) {
+}
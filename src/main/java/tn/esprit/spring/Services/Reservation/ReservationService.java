@@ -2,7 +2,11 @@ package tn.esprit.spring.Services.Reservation;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import tn.esprit.spring.DAO.Entities.Chambre;
 import tn.esprit.spring.DAO.Entities.Etudiant;
 import tn.esprit.spring.DAO.Entities.Foyer;
@@ -11,9 +15,20 @@ import tn.esprit.spring.DAO.Repositories.ChambreRepository;
 import tn.esprit.spring.DAO.Repositories.EtudiantRepository;
 import tn.esprit.spring.DAO.Repositories.FoyerRepository;
 import tn.esprit.spring.DAO.Repositories.ReservationRepository;
+import tn.esprit.spring.Services.AnneeUniversitaire.IAnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.PeriodeAU;
+import tn.esprit.spring.Services.Chambre.IOccupationChambreService;
+import tn.esprit.spring.Services.Notification.IBoiteEnvoiService;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -22,6 +37,11 @@ public class ReservationService implements IReservationService {
     ReservationRepository repo;
     ChambreRepository chambreRepository;
     EtudiantRepository etudiantRepository;
+    IOccupationChambreService occupationChambreService;
+    IAnneeUniversitaireService anneeUniversitaire;
+    IBoiteEnvoiService boiteEnvoi;
+
+    static final int TAILLE_LOT_ANNULATION = 1000;
 
     @Override
     public Reservation addOrUpdate(Reservation r) {
@@ -33,6 +53,21 @@ public class ReservationService implements IReservationService {
         return repo.findAll();
     }
 
+    @Override
+    public Page<Reservation> findAll(Pageable pageable) {
+        return repo.findAll(pageable);
+    }
+
+    @Override
+    public List<Reservation> findAllApres(String id, int taille) {
+        return repo.findByIdReservationGreaterThanOrderByIdReservation(id, PageRequest.of(0, taille));
+    }
+
+    @Override
+    public Stream<Reservation> streamAll() {
+        return repo.streamAll();
+    }
+
     @Override
     public Reservation findById(String id) {
         return repo.findById(id).get();
@@ -48,80 +83,75 @@ public class ReservationService implements IReservationService {
         repo.delete(r);
     }
 
-    public LocalDate getDateDebutAU() {
-        LocalDate dateDebutAU;
-        int year = LocalDate.now().getYear() % 100;
-        if (LocalDate.now().getMonthValue() <= 7) {
-            dateDebutAU = LocalDate.of(Integer.parseInt("20" + (year - 1)), 9, 15);
-        } else {
-            dateDebutAU = LocalDate.of(Integer.parseInt("20" + year), 9, 15);
-        }
-        return dateDebutAU;
-    }
-
-    public LocalDate getDateFinAU() {
-        LocalDate dateFinAU;
-        int year = LocalDate.now().getYear() % 100;
-        if (LocalDate.now().getMonthValue() <= 7) {
-            dateFinAU = LocalDate.of(Integer.parseInt("20" + year), 6, 30);
-        } else {
-            dateFinAU = LocalDate.of(Integer.parseInt("20" + (year + 1)), 6, 30);
-        }
-        return dateFinAU;
-    }
-
     @Override
+    @Transactional
     public Reservation ajouterReservationEtAssignerAChambreEtAEtudiant
             (Long numChambre, long cin) {
         // Récupération de la chambre et de l'étudiant
-        Chambre chambre = chambreRepository.findByNumeroChambre(numChambre);
-        Etudiant etudiant = etudiantRepository.findByCin(cin);
-
-        // Compter le nombre de réservations existantes
-        int nombreReservations = chambreRepository.
-                countReservationsByIdChambreAndReservationsAnneeUniversitaireBetween
-                        (chambre.getIdChambre(), getDateDebutAU(), getDateFinAU());
-
-        // Vérification de la capacité de la chambre
-        boolean ajout = false;
-        int capaciteMaximale = switch (chambre.getTypeC()) {
-            case SIMPLE -> 1;
-            case DOUBLE -> 2;
-            case TRIPLE -> 3;
-        };
-
-        if (nombreReservations < capaciteMaximale) {
-            ajout = true;
-        } else {
-            log.info("Chambre " + chambre.getTypeC() + " remplie !");
-        }
+        Chambre chambre = chambreRepository.chargerParNumero(numChambre);
+        Etudiant etudiant = etudiantRepository.chargerParCin(cin);
 
-        if (ajout) {
-            // Création de la réservation
-            String idReservation = "" + getDateDebutAU().getYear() + "/" + getDateFinAU().getYear() + "-" + chambre.getBloc().getNomBloc() + "-"
+        Lock verrou = occupationChambreService.verrou(chambre.getIdChambre());
+        verrou.lock();
+        try {
+            String idReservation = anneeUniversitaire.courante(chambre).libelle() + "-" + chambre.getBloc().getNomBloc() + "-"
                     + chambre.getNumeroChambre() + "-" + etudiant.getCin();
 
-            Reservation reservation = Reservation.builder()
-                    .estValide(true)
-                    .anneeUniversitaire(LocalDate.now())
-                    .idReservation(idReservation)
-                    .build();
+            // Même étudiant, même chambre, même AU: rien à insérer (DEJA_RESERVEE à l'import). Un save
+            // ferait un merge sur la ligne existante, l'index compterait une place de trop et un second mail partirait
+            Reservation existante = repo.findById(idReservation).orElse(null);
+            if (existante != null && existante.isEstValide()) {
+                log.info("Réservation " + idReservation + " déjà enregistrée");
+                return existante;
+            }
+
+            // Nombre de réservations existantes (index d'occupation, sans requête)
+            int nombreReservations = occupationChambreService.nbReservations(chambre.getIdChambre());
 
-            // Affectation de l'étudiant à la réservation
-            reservation.getEtudiants().add(etudiant);
+            // Vérification de la capacité de la chambre
+            if (nombreReservations >= chambre.getTypeC().getCapacite()) {
+                log.info("Chambre " + chambre.getTypeC() + " remplie !");
+                return null;
+            }
 
-            // Sauvegarde de la réservation
-            reservation = repo.save(reservation);
+            Reservation reservation;
+            if (existante != null) {
+                // Réservation invalidée (annulation de fin d'année) avec le même id: réactivée sur la même ligne
+                log.info("Réservation " + idReservation + " réactivée");
+                existante.setEstValide(true);
+                existante.setAnneeUniversitaire(LocalDate.now());
+                if (!existante.getEtudiants().contains(etudiant)) {
+                    existante.getEtudiants().add(etudiant);
+                }
+                reservation = repo.save(existante);
+            } else {
+                // Création de la réservation
+                reservation = Reservation.builder()
+                        .estValide(true)
+                        .anneeUniversitaire(LocalDate.now())
+                        .idReservation(idReservation)
+                        .build();
 
-            // Affectation de la réservation à la chambre
-            chambre.getReservations().add(reservation);
-            chambreRepository.save(chambre);
+                // Affectation de l'étudiant à la réservation
+                reservation.getEtudiants().add(etudiant);
+
+                // Sauvegarde de la réservation
+                reservation = repo.save(reservation);
+            }
+
+            // Affectation de la réservation à la chambre (une réservation réactivée y est normalement restée)
+            if (existante == null || chambreRepository.findByReservationsIdReservation(idReservation) == null) {
+                chambre.getReservations().add(reservation);
+                chambreRepository.save(chambre);
+            }
+            occupationChambreService.reservationAjoutee(chambre.getIdChambre(), reservation.getAnneeUniversitaire());
+            // Mail de confirmation écrit dans la même transaction, envoyé plus tard
+            boiteEnvoi.confirmationReservation(reservation, chambre, etudiant);
 
             return reservation;
+        } finally {
+            verrou.unlock();
         }
-
-        // Retourner null ou lever une exception plutôt que de retourner une nouvelle réservation vide
-        return null; // Ou vous pouvez lever une exception pour indiquer que l'ajout a échoué
     }
 
 
@@ -131,19 +161,23 @@ public class ReservationService implements IReservationService {
     }
 
     @Override
+    @Transactional
     public String annulerReservation(long cinEtudiant) {
         Reservation r = repo.findByEtudiantsCinAndEstValide(cinEtudiant,
                 true);
         Chambre c = chambreRepository.findByReservationsIdReservation
                 (r.getIdReservation());
+        r.getEtudiants().forEach(e -> boiteEnvoi.annulationReservation(r, e));
         c.getReservations().remove(r);
         chambreRepository.save(c);
         repo.delete(r);
+        occupationChambreService.reservationAnnulee(c.getIdChambre(), r.getAnneeUniversitaire());
         return "La réservation " + r.getIdReservation()
                 + " est annulée avec succés";
     }
 
     @Override
+    @Transactional
     public void affectReservationAChambre(String idRes, long idChambre) {
         Reservation r = repo.findById(idRes).get();
         Chambre c = chambreRepository.findById(idChambre).get();
@@ -151,9 +185,13 @@ public class ReservationService implements IReservationService {
         // On affecte le child au parent
         c.getReservations().add(r);
         chambreRepository.save(c);
+        if (r.isEstValide()) {
+            occupationChambreService.reservationAjoutee(idChambre, r.getAnneeUniversitaire());
+        }
     }
 
     @Override
+    @Transactional
     public void deaffectReservationAChambre(String idRes, long idChambre) {
         Reservation r = repo.findById(idRes).get();
         Chambre c = chambreRepository.findById(idChambre).get();
@@ -161,29 +199,59 @@ public class ReservationService implements IReservationService {
         // On affecte le child au parent
         c.getReservations().remove(r);
         chambreRepository.save(c);
+        if (r.isEstValide()) {
+            occupationChambreService.reservationAnnulee(idChambre, r.getAnneeUniversitaire());
+        }
     }
 
     @Override
     public void annulerReservations() {
-        // Début "récuperer l'année universitaire actuelle"
-        LocalDate dateDebutAU;
-        LocalDate dateFinAU;
-        int numReservation;
-        int year = LocalDate.now().getYear() % 100;
-        if (LocalDate.now().getMonthValue() <= 7) {
-            dateDebutAU = LocalDate.of(Integer.parseInt("20" + (year - 1)), 9, 15);
-            dateFinAU = LocalDate.of(Integer.parseInt("20" + year), 6, 30);
+        annulerReservations(null);
+    }
+
+    @Override
+    public long annulerReservations(Consumer<String> audit) {
+        // Chaque université aux dates propres avec sa période, toutes les autres réservations
+        // (autres universités, chambres sans foyer) avec la période par défaut
+        Map<String, PeriodeAU> universites = anneeUniversitaire.courantesParUniversite();
+        long total = 0;
+        for (Map.Entry<String, PeriodeAU> universite : universites.entrySet()) {
+            List<String> nom = List.of(universite.getKey());
+            PeriodeAU p = universite.getValue();
+            long n = annuler(audit, () -> repo.invaliderReservationsDesUniversites(nom, p.debut(), p.fin()),
+                    lot -> repo.findIdsReservationsValidesDesUniversites(nom, p.debut(), p.fin(), lot));
+            log.info(n + " réservations de l'AU " + p.libelle() + " (" + universite.getKey() + ") annulées automatiquement");
+            total += n;
+        }
+        PeriodeAU au = anneeUniversitaire.courante();
+        long n;
+        if (universites.isEmpty()) {
+            n = annuler(audit, () -> repo.invaliderReservations(au.debut(), au.fin()),
+                    lot -> repo.findIdsReservationsValides(au.debut(), au.fin(), lot));
         } else {
-            dateDebutAU = LocalDate.of(Integer.parseInt("20" + year), 9, 15);
-            dateFinAU = LocalDate.of(Integer.parseInt("20" + (year + 1)), 6, 30);
+            Set<String> noms = universites.keySet();
+            n = annuler(audit, () -> repo.invaliderReservationsHorsUniversites(noms, au.debut(), au.fin()),
+                    lot -> repo.findIdsReservationsValidesHorsUniversites(noms, au.debut(), au.fin(), lot));
+        }
+        log.info(n + " réservations de l'AU " + au.libelle() + " annulées automatiquement");
+        total += n;
+        occupationChambreService.reservationsAnnulees();
+        return total;
+    }
+
+    private long annuler(Consumer<String> audit, IntSupplier invalider, Function<Pageable, List<String>> idsValides) {
+        if (audit == null) {
+            // Un seul update ensembliste
+            return invalider.getAsInt();
         }
-        // Fin "récuperer l'année universitaire actuelle"
-        for (Reservation reservation : repo.findByEstValideAndAnneeUniversitaireBetween
-                (true, dateDebutAU, dateFinAU)) {
-            reservation.setEstValide(false);
-            repo.save(reservation);
-            log.info("La reservation " + reservation.getIdReservation() + " est annulée automatiquement");
+        // Par lots: chaque lot d'ids est invalidé (une transaction par lot) puis transmis à l'audit
+        long total = 0;
+        List<String> ids;
+        while (!(ids = idsValides.apply(PageRequest.of(0, TAILLE_LOT_ANNULATION))).isEmpty()) {
+            total += repo.invaliderReservations(ids);
+            ids.forEach(audit);
         }
+        return total;
     }
 
 }
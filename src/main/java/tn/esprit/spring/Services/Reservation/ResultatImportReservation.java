@@ -0,0 +1,8 @@
+package tn.esprit.spring.Services.Reservation;
+
+public record ResultatImportReservation(long numChambre, long cin, String idReservation, Statut statut) {
+
+    public enum Statut {
+        RESERVEE, CHAMBRE_INTROUVABLE, ETUDIANT_INTROUVABLE, CHAMBRE_COMPLETE, DEJA_RESERVEE, ERREUR
+    }
+}
@@ -1,13 +1,24 @@
 package tn.esprit.spring.Services.Universite;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import tn.esprit.spring.DAO.Entities.Universite;
+import tn.esprit.spring.DAO.Projections.UniversiteVue;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface IUniversiteService {
     Universite addOrUpdate(Universite u);
     List<Universite> findAll();
+    Page<Universite> findAll(Pageable pageable);
+    List<Universite> findAllApres(long id, int taille);
+    Stream<UniversiteVue> streamVues();
     Universite findById(long id);
+    List<UniversiteVue> findAllVues();
+    Page<UniversiteVue> findAllVues(Pageable pageable);
+    List<UniversiteVue> findAllVuesApres(long id, int taille);
+    UniversiteVue findVueById(long id);
     void deleteById(long id);
     void delete(Universite u);
     Universite ajouterUniversiteEtSonFoyer(Universite u);
@@ -1,13 +1,18 @@
 package tn.esprit.spring.Services.Universite;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import tn.esprit.spring.DAO.Entities.Foyer;
 import tn.esprit.spring.DAO.Entities.Universite;
+import tn.esprit.spring.DAO.Projections.UniversiteVue;
 import tn.esprit.spring.DAO.Repositories.FoyerRepository;
 import tn.esprit.spring.DAO.Repositories.UniversiteRepository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -24,11 +29,46 @@ public class UniversiteService implements IUniversiteService {
         return repo.findAll();
     }
 
+    @Override
+    public Page<Universite> findAll(Pageable pageable) {
+        return repo.findAll(pageable);
+    }
+
+    @Override
+    public List<Universite> findAllApres(long id, int taille) {
+        return repo.findByIdUniversiteGreaterThanOrderByIdUniversite(id, PageRequest.of(0, taille));
+    }
+
+    @Override
+    public Stream<UniversiteVue> streamVues() {
+        return repo.streamVues();
+    }
+
     @Override
     public Universite findById(long id) {
         return repo.findById(id).get();
     }
 
+    @Override
+    public List<UniversiteVue> findAllVues() {
+        return repo.findAllVues();
+    }
+
+    @Override
+    public Page<UniversiteVue> findAllVues(Pageable pageable) {
+        return repo.findAllVues(pageable);
+    }
+
+    @Override
+    public List<UniversiteVue> findAllVuesApres(long id, int taille) {
+        return repo.findVuesApres(id, PageRequest.of(0, taille));
+    }
+
+    @Override
+    public UniversiteVue findVueById(long id) {
+        return repo.findVueById(id).orElseThrow();
+    }
+
     @Override
     public void deleteById(long id) {
         repo.deleteById(id);
@@ -0,0 +1,91 @@
+-- Schéma tel que créé jusqu'ici par spring.jpa.hibernate.ddl-auto=update.
+-- Une base existante est marquée à cette version (baseline-on-migrate) sans rejouer ce script.
+
+create table t_foyer (
+    id_foyer bigint not null auto_increment,
+    nom_foyer varchar(255),
+    capacite_foyer bigint not null,
+    primary key (id_foyer)
+) engine=InnoDB;
+
+create table t_universite (
+    id_universite bigint not null auto_increment,
+    nom_universite varchar(255),
+    adresse varchar(255),
+    foyer_id_foyer bigint,
+    primary key (id_universite)
+) engine=InnoDB;
+
+create table t_bloc (
+    id_bloc bigint not null auto_increment,
+    nom_bloc varchar(255),
+    capacite_bloc bigint not null,
+    foyer_id_foyer bigint,
+    primary key (id_bloc)
+) engine=InnoDB;
+
+create table t_chambre (
+    id_chambre bigint not null auto_increment,
+    numero_chambre bigint,
+    typec enum ('DOUBLE','SIMPLE','TRIPLE'),
+    bloc_id_bloc bigint,
+    primary key (id_chambre)
+) engine=InnoDB;
+
+create table t_etudiant (
+    id_etudiant bigint not null auto_increment,
+    nom_et varchar(255),
+    prenom_et varchar(255),
+    cin bigint not null,
+    ecole varchar(255),
+    date_naissance date,
+    primary key (id_etudiant)
+) engine=InnoDB;
+
+create table t_reservation (
+    id_reservation varchar(255) not null,
+    annee_universitaire date,
+    est_valide bit not null,
+    primary key (id_reservation)
+) engine=InnoDB;
+
+create table t_chambre_reservations (
+    chambre_id_chambre bigint not null,
+    reservations_id_reservation varchar(255) not null
+) engine=InnoDB;
+
+create table t_reservation_etudiants (
+    reservations_id_reservation varchar(255) not null,
+    etudiants_id_etudiant bigint not null
+) engine=InnoDB;
+
+-- Noms de contraintes identiques à ceux générés par Hibernate
+alter table t_universite
+    add constraint UK_ppt7brh5iu3sdk26kydqxb4pb unique (foyer_id_foyer);
+
+alter table t_chambre
+    add constraint UK_bfddkqmdeaegbdbk0q474to82 unique (numero_chambre);
+
+alter table t_chambre_reservations
+    add constraint UK_tjokkk22md2kputl7s64mpogq unique (reservations_id_reservation);
+
+alter table t_universite
+    add constraint FKl8ocoh5hm4gvsp0sqbk4dw4gp foreign key (foyer_id_foyer) references t_foyer (id_foyer);
+
+alter table t_bloc
+    add constraint FKjjwhlcwla3ys5yp36m0aqivdr foreign key (foyer_id_foyer) references t_foyer (id_foyer);
+
+alter table t_chambre
+    add constraint FKhccfibngldb9t3wa06xg1qhfk foreign key (bloc_id_bloc) references t_bloc (id_bloc);
+
+alter table t_chambre_reservations
+    add constraint FKfxbc8lgdbrm52ol9slhm11qy8 foreign key (chambre_id_chambre) references t_chambre (id_chambre);
+
+alter table t_chambre_reservations
+    add constraint FKcmffjxrqi7cnh819m0fddx65h foreign key (reservations_id_reservation) references t_reservation (id_reservation);
+
+alter table t_reservation_etudiants
+    add constraint FKko0c1l3ctx308jlueriyg90yc foreign key (reservations_id_reservation) references t_reservation (id_reservation);
+
+alter table t_reservation_etudiants
+    add constraint FKsa01fwp72jakxi8b9soapl32w foreign key (etudiants_id_etudiant) references t_etudiant (id_etudiant);
@@ -0,0 +1,15 @@
+-- Chambre.reservations est un Set: clé primaire sur la table de jointure
+-- (reservations_id_reservation est déjà unique, aucun doublon possible)
+alter table t_chambre_reservations
+    add primary key (chambre_id_chambre, reservations_id_reservation);
+
+create index idx_etudiant_cin on t_etudiant (cin);
+create index idx_etudiant_nom_id on t_etudiant (nom_et, id_etudiant);
+create index idx_etudiant_date_naissance_id on t_etudiant (date_naissance, id_etudiant);
+
+create index idx_bloc_nom on t_bloc (nom_bloc);
+create index idx_foyer_nom on t_foyer (nom_foyer);
+create index idx_universite_nom on t_universite (nom_universite);
+
+create index idx_reservation_annee on t_reservation (annee_universitaire);
+create index idx_reservation_valide_annee on t_reservation (est_valide, annee_universitaire);
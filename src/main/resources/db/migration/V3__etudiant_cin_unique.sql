@@ -0,0 +1,4 @@
+-- cin est l'identifiant naturel de l'étudiant (@NaturalId): l'index de recherche devient unique.
+-- Échoue si la base contient des doublons de cin, à corriger avant la migration.
+create unique index uk_etudiant_cin on t_etudiant (cin);
+drop index idx_etudiant_cin on t_etudiant;
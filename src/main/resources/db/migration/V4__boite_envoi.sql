@@ -0,0 +1,17 @@
+-- Adresse des mails de confirmation; les étudiants existants n'en ont pas et ne reçoivent rien
+alter table t_etudiant add column email varchar(255);
+
+-- Boîte d'envoi des mails, alimentée dans la transaction des réservations
+create table t_message_sortant (
+    id_message bigint not null auto_increment,
+    destinataire varchar(255),
+    sujet varchar(255),
+    corps varchar(2000),
+    date_creation datetime(6),
+    nb_tentatives integer not null,
+    prochaine_tentative datetime(6),
+    derniere_erreur varchar(500),
+    primary key (id_message)
+) engine=InnoDB;
+
+create index idx_message_prochaine_tentative on t_message_sortant (prochaine_tentative, id_message);
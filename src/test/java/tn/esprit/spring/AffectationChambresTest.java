@@ -0,0 +1,141 @@
+package tn.esprit.spring;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.Bloc;
+import tn.esprit.spring.DAO.Entities.Chambre;
+import tn.esprit.spring.DAO.Entities.Foyer;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.Services.Bloc.AffectationChambres;
+import tn.esprit.spring.Services.Bloc.BlocService;
+import tn.esprit.spring.Services.Bloc.IBlocService;
+import tn.esprit.spring.Services.Foyer.FoyerService;
+import tn.esprit.spring.Services.Foyer.IFoyerService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Affectations de chambres et enregistrements parent/enfants: un nombre de requêtes indépendant du nombre de chambres
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({BlocService.class, FoyerService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AffectationChambresTest {
+
+    private static final int NB_CHAMBRES = 500;
+
+    @Autowired
+    private IBlocService blocService;
+
+    @Autowired
+    private IFoyerService foyerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        JeuDeDonnees.foyer(jdbcTemplate, 1, "Foyer A", 100);
+        JeuDeDonnees.bloc(jdbcTemplate, 1, "Bloc A", NB_CHAMBRES, null);
+        JeuDeDonnees.bloc(jdbcTemplate, 2, "Bloc B", NB_CHAMBRES, null);
+        List<Object[]> chambres = new ArrayList<>();
+        for (int c = 1; c <= NB_CHAMBRES; c++) {
+            chambres.add(new Object[]{c, 100 + c, TypeChambre.DOUBLE.name(), 1});
+        }
+        JeuDeDonnees.chambres(jdbcTemplate, chambres);
+        // Identifiants générés après ceux insérés ci-dessus
+        jdbcTemplate.execute("alter table t_chambre alter column id_chambre restart with 10000");
+        jdbcTemplate.execute("alter table t_bloc alter column id_bloc restart with 10000");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void afterEach() {
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testAffecterChambresEnMasse() {
+        List<Long> numeros = new ArrayList<>(LongStream.rangeClosed(101, 100 + NB_CHAMBRES).boxed().toList());
+        numeros.addAll(List.of(9001L, 101L, 9002L));
+
+        AffectationChambres affectation = blocService.affecterChambres(numeros, "Bloc B");
+
+        assertEquals(2L, affectation.bloc().getIdBloc());
+        assertEquals(NB_CHAMBRES, affectation.nbAffectees());
+        assertEquals(List.of(9001L, 9002L), affectation.numerosInconnus());
+        // Bloc, numéros connus, update
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(NB_CHAMBRES, jdbcTemplate.queryForObject("select count(*) from t_chambre where bloc_id_bloc = 2", Integer.class));
+    }
+
+    @Test
+    void testAffecterChambresABlocParLots() {
+        List<Long> numeros = LongStream.rangeClosed(101, 100 + NB_CHAMBRES).boxed().toList();
+
+        Bloc bloc = blocService.affecterChambresABloc(numeros.subList(0, 10), "Bloc B");
+
+        assertEquals("Bloc B", bloc.getNomBloc());
+        assertEquals(10, jdbcTemplate.queryForObject("select count(*) from t_chambre where bloc_id_bloc = 2", Integer.class));
+    }
+
+    @Test
+    void testAddOrUpdateChambresExistantes() {
+        Bloc bloc = Bloc.builder().idBloc(2L).nomBloc("Bloc B").capaciteBloc(NB_CHAMBRES).chambres(new ArrayList<>()).build();
+        for (long c = 1; c <= NB_CHAMBRES; c++) {
+            bloc.getChambres().add(Chambre.builder().idChambre(c).numeroChambre(100 + c).typeC(TypeChambre.TRIPLE).build());
+        }
+
+        blocService.addOrUpdate(bloc);
+
+        assertEquals(NB_CHAMBRES, jdbcTemplate.queryForObject(
+                "select count(*) from t_chambre where bloc_id_bloc = 2 and typec = 'TRIPLE'", Integer.class));
+        // Bloc, chambres en une requête IN, puis updates par lots JDBC: pas un select par chambre
+        assertTrue(statistics.getPrepareStatementCount() < 20, "Requêtes: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testAjouterBlocEtSesChambres() {
+        Bloc bloc = Bloc.builder().nomBloc("Bloc C").capaciteBloc(3).chambres(new ArrayList<>()).build();
+        for (long c = 1; c <= 3; c++) {
+            bloc.getChambres().add(Chambre.builder().numeroChambre(1000 + c).typeC(TypeChambre.SIMPLE).build());
+        }
+
+        Bloc enregistre = blocService.ajouterBlocEtSesChambres(bloc);
+
+        assertNotEquals(0L, enregistre.getIdBloc());
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from t_chambre c join t_bloc b on b.id_bloc = c.bloc_id_bloc " +
+                "where b.nom_bloc = 'Bloc C'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from t_bloc where nom_bloc = 'Bloc C'", Integer.class));
+    }
+
+    @Test
+    void testAjoutFoyerEtBlocs() {
+        Foyer foyer = Foyer.builder().idFoyer(1L).nomFoyer("Foyer A").capaciteFoyer(100).blocs(new ArrayList<>()).build();
+        foyer.getBlocs().add(Bloc.builder().idBloc(1L).nomBloc("Bloc A").capaciteBloc(NB_CHAMBRES).build());
+        foyer.getBlocs().add(Bloc.builder().idBloc(2L).nomBloc("Bloc B").capaciteBloc(NB_CHAMBRES).build());
+        foyer.getBlocs().add(Bloc.builder().nomBloc("Bloc D").capaciteBloc(10).build());
+
+        foyerService.ajoutFoyerEtBlocs(foyer);
+
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from t_bloc where foyer_id_foyer = 1", Integer.class));
+    }
+}
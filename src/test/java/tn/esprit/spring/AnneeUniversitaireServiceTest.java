@@ -0,0 +1,98 @@
+package tn.esprit.spring;
+
+import org.junit.jupiter.api.Test;
+import tn.esprit.spring.DAO.Entities.Bloc;
+import tn.esprit.spring.DAO.Entities.Chambre;
+import tn.esprit.spring.DAO.Entities.Foyer;
+import tn.esprit.spring.DAO.Entities.Universite;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.AnneeUniversitaire.PeriodeAU;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnneeUniversitaireServiceTest {
+
+    // Horloge réglable pour simuler le passage d'une année à l'autre
+    static class Horloge extends Clock {
+        LocalDate date;
+
+        Horloge(LocalDate date) {
+            this.date = date;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return date.atStartOfDay().toInstant(ZoneOffset.UTC);
+        }
+    }
+
+    @Test
+    void testPeriodeCourante() {
+        AnneeUniversitaireService service = service(new Horloge(LocalDate.of(2026, 10, 18)), new ParametresAnneeUniversitaire());
+
+        assertEquals(new PeriodeAU(LocalDate.of(2026, 9, 15), LocalDate.of(2027, 6, 30)), service.courante());
+        assertEquals(new PeriodeAU(LocalDate.of(2026, 8, 1), LocalDate.of(2027, 7, 31)), service.periodeReservations());
+        assertEquals("2026/2027", service.courante().libelle());
+        // Calculée une fois pour l'année
+        assertSame(service.courante(), service.courante());
+    }
+
+    @Test
+    void testBascule() {
+        Horloge horloge = new Horloge(LocalDate.of(2027, 7, 31));
+        AnneeUniversitaireService service = service(horloge, new ParametresAnneeUniversitaire());
+        assertEquals("2026/2027", service.courante().libelle());
+
+        horloge.date = LocalDate.of(2027, 8, 1);
+        assertEquals(new PeriodeAU(LocalDate.of(2027, 9, 15), LocalDate.of(2028, 6, 30)), service.courante());
+    }
+
+    @Test
+    void testApres2099() {
+        AnneeUniversitaireService service = service(new Horloge(LocalDate.of(2100, 3, 1)), new ParametresAnneeUniversitaire());
+
+        assertEquals(new PeriodeAU(LocalDate.of(2099, 9, 15), LocalDate.of(2100, 6, 30)), service.courante());
+        assertEquals("2100/2101", service.pour(LocalDate.of(2100, 8, 1)).libelle());
+    }
+
+    @Test
+    void testDatesParUniversite() {
+        ParametresAnneeUniversitaire parametres = new ParametresAnneeUniversitaire();
+        ParametresAnneeUniversitaire.Dates dates = new ParametresAnneeUniversitaire.Dates();
+        dates.setDebut("09-01");
+        dates.setFin("07-15");
+        parametres.getUniversites().put("Esprit", dates);
+        AnneeUniversitaireService service = service(new Horloge(LocalDate.of(2026, 10, 18)), parametres);
+
+        PeriodeAU esprit = new PeriodeAU(LocalDate.of(2026, 9, 1), LocalDate.of(2027, 7, 15));
+        assertEquals(esprit, service.courante("Esprit"));
+        assertEquals(service.courante(), service.courante("Autre"));
+
+        Foyer foyer = Foyer.builder().nomFoyer("Foyer E").build();
+        foyer.setUniversite(Universite.builder().nomUniversite("Esprit").foyer(foyer).build());
+        Chambre chambre = Chambre.builder().bloc(Bloc.builder().nomBloc("Bloc E").foyer(foyer).build()).build();
+        assertEquals(esprit, service.courante(chambre));
+        assertEquals(service.courante(), service.courante(Chambre.builder().build()));
+    }
+
+    private AnneeUniversitaireService service(Clock horloge, ParametresAnneeUniversitaire parametres) {
+        return new AnneeUniversitaireService(parametres, horloge);
+    }
+}
@@ -0,0 +1,162 @@
+package tn.esprit.spring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Chambre.IOccupationChambreService;
+import tn.esprit.spring.Services.Chambre.OccupationChambreService;
+import tn.esprit.spring.Services.Notification.BoiteEnvoiService;
+import tn.esprit.spring.Services.Reservation.IReservationService;
+import tn.esprit.spring.Services.Reservation.ReservationService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+// Esprit a ses propres dates (01/09 -> 15/06): ses réservations sont annulées sur cette période, les autres
+// (chambres sans foyer) sur la période par défaut
+@DataJpaTest(properties = {"spring.jpa.show-sql=false",
+        "foyer.annee-universitaire.universites.[Esprit].debut=09-01",
+        "foyer.annee-universitaire.universites.[Esprit].fin=06-15"})
+@Import({ReservationService.class, OccupationChambreService.class, AnneeUniversitaireService.class,
+        ParametresAnneeUniversitaire.class, BoiteEnvoiService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AnnulationReservationsTest {
+
+    private static final int NB_RESERVATIONS = Integer.getInteger("foyer.test.reservations", 2000);
+
+    @Autowired
+    private IReservationService reservationService;
+
+    @Autowired
+    private IOccupationChambreService occupationChambreService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDate dateDebutAU;
+
+    @BeforeEach
+    void beforeEach() {
+        int year = LocalDate.now().getYear();
+        if (LocalDate.now().getMonthValue() <= 7) {
+            dateDebutAU = LocalDate.of(year - 1, 9, 15);
+        } else {
+            dateDebutAU = LocalDate.of(year, 9, 15);
+        }
+        List<Object[]> reservations = new ArrayList<>();
+        for (int r = 0; r < NB_RESERVATIONS; r++) {
+            // 1 réservation sur 10 appartient à l'AU précédente et ne doit pas être touchée
+            LocalDate date = r % 10 == 0 ? dateDebutAU.minusMonths(6) : dateDebutAU.plusDays(r % 200);
+            reservations.add(new Object[]{String.format("R%07d", r), date, true});
+        }
+        // Réservation d'août: dans la période de réservation mais avant le début des cours, non annulée
+        reservations.add(new Object[]{"R-AOUT", dateDebutAU.minusDays(20), true});
+        JeuDeDonnees.reservations(jdbcTemplate, reservations);
+        // Chambre triple occupée par deux réservations de l'AU et celle d'août
+        JeuDeDonnees.bloc(jdbcTemplate, 1, "Bloc A", 10, null);
+        JeuDeDonnees.chambres(jdbcTemplate, List.<Object[]>of(new Object[]{1, 101, "TRIPLE", 1}));
+        JeuDeDonnees.reservationsDesChambres(jdbcTemplate,
+                List.of(new Object[]{1, "R0000001"}, new Object[]{1, "R0000002"}, new Object[]{1, "R-AOUT"}));
+        occupationChambreService.charger();
+    }
+
+    @AfterEach
+    void afterEach() {
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testAnnulerReservationsEnsembliste() {
+        assertEquals(3, occupationChambreService.nbReservations(1));
+        long debut = System.nanoTime();
+        reservationService.annulerReservations();
+        long duree = System.nanoTime() - debut;
+
+        assertEquals(reservationsConservees(), idsValides());
+        // Index rechargé: seule la réservation d'août occupe encore la chambre
+        assertEquals(1, occupationChambreService.nbReservations(1));
+        log.info("annulerReservations (update ensembliste): {} réservations en {} ms", NB_RESERVATIONS, duree / 1_000_000);
+    }
+
+    @Test
+    void testAnnulerReservationsAvecAudit() {
+        Set<String> auditees = new HashSet<>();
+        long debut = System.nanoTime();
+        long total = reservationService.annulerReservations(auditees::add);
+        long duree = System.nanoTime() - debut;
+
+        assertEquals(NB_RESERVATIONS - NB_RESERVATIONS / 10, total);
+        assertEquals(total, auditees.size());
+        assertEquals(reservationsConservees(), idsValides());
+        assertFalse(auditees.contains("R-AOUT"));
+        assertEquals(1, occupationChambreService.nbReservations(1));
+        log.info("annulerReservations (lots + audit): {} réservations en {} ms", NB_RESERVATIONS, duree / 1_000_000);
+    }
+
+    @Test
+    void testAnnulerReservationsParUniversite() {
+        universiteAuxDatesPropres();
+
+        reservationService.annulerReservations();
+
+        Set<String> conservees = reservationsConservees();
+        conservees.add("R-ESPRIT-JUIN");
+        conservees.add("R-AUTRE-SEPT");
+        assertEquals(conservees, idsValides());
+    }
+
+    @Test
+    void testAnnulerReservationsParUniversiteAvecAudit() {
+        universiteAuxDatesPropres();
+        Set<String> auditees = new HashSet<>();
+
+        long total = reservationService.annulerReservations(auditees::add);
+
+        assertEquals(NB_RESERVATIONS - NB_RESERVATIONS / 10 + 1, total);
+        assertTrue(auditees.contains("R-ESPRIT-SEPT"));
+        assertFalse(auditees.contains("R-ESPRIT-JUIN"));
+        assertFalse(auditees.contains("R-AUTRE-SEPT"));
+    }
+
+    // Chambre 2 dans le foyer d'Esprit: le 05/09 est dans sa période, le 20/06 n'y est plus;
+    // l'inverse pour la période par défaut, qui s'applique à la chambre 1 (sans foyer)
+    private void universiteAuxDatesPropres() {
+        LocalDate septembre = dateDebutAU.withDayOfMonth(5);
+        LocalDate juin = LocalDate.of(dateDebutAU.getYear() + 1, 6, 20);
+        JeuDeDonnees.foyer(jdbcTemplate, 1, "Foyer Esprit", 100);
+        JeuDeDonnees.universite(jdbcTemplate, 1, "Esprit", null, 1L);
+        JeuDeDonnees.bloc(jdbcTemplate, 2, "Bloc E", 10, 1L);
+        JeuDeDonnees.chambres(jdbcTemplate, List.<Object[]>of(new Object[]{2, 201, "TRIPLE", 2}));
+        JeuDeDonnees.reservations(jdbcTemplate, List.of(new Object[]{"R-ESPRIT-SEPT", septembre, true},
+                new Object[]{"R-ESPRIT-JUIN", juin, true}, new Object[]{"R-AUTRE-SEPT", septembre, true}));
+        JeuDeDonnees.reservationsDesChambres(jdbcTemplate, List.of(new Object[]{2, "R-ESPRIT-SEPT"},
+                new Object[]{2, "R-ESPRIT-JUIN"}, new Object[]{1, "R-AUTRE-SEPT"}));
+    }
+
+    // Réservations de l'AU précédente et celle d'août
+    private Set<String> reservationsConservees() {
+        Set<String> ids = new HashSet<>();
+        for (int r = 0; r < NB_RESERVATIONS; r += 10) {
+            ids.add(String.format("R%07d", r));
+        }
+        ids.add("R-AOUT");
+        return ids;
+    }
+
+    private Set<String> idsValides() {
+        return new HashSet<>(jdbcTemplate.queryForList("select id_reservation from t_reservation where est_valide = true", String.class));
+    }
+}
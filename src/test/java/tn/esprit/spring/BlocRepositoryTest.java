@@ -0,0 +1,121 @@
+package tn.esprit.spring;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.LazyInitializationException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.Bloc;
+import tn.esprit.spring.DAO.Repositories.BlocRepository;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Bloc.BlocService;
+import tn.esprit.spring.Services.Bloc.IBlocService;
+import tn.esprit.spring.Services.Chambre.ChambreService;
+import tn.esprit.spring.Services.Chambre.IChambreService;
+import tn.esprit.spring.Services.Chambre.OccupationChambreService;
+import tn.esprit.spring.Services.Chambre.StatistiquesChambreService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Nombre de requêtes SQL par cas d'utilisation des blocs (statistiques Hibernate)
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({BlocService.class, ChambreService.class, OccupationChambreService.class, StatistiquesChambreService.class,
+        AnneeUniversitaireService.class, ParametresAnneeUniversitaire.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BlocRepositoryTest {
+
+    private static final int NB_BLOCS = 5;
+    private static final int CHAMBRES_PAR_BLOC = 20;
+
+    @Autowired
+    private IBlocService blocService;
+
+    @Autowired
+    private IChambreService chambreService;
+
+    @Autowired
+    private BlocRepository blocRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        JeuDeDonnees.foyer(jdbcTemplate, 1, "Foyer B", 500);
+        List<Object[]> blocs = new ArrayList<>();
+        List<Object[]> chambres = new ArrayList<>();
+        for (int b = 1; b <= NB_BLOCS; b++) {
+            blocs.add(new Object[]{b, "Bloc " + b, CHAMBRES_PAR_BLOC, 1});
+            for (int c = 1; c <= CHAMBRES_PAR_BLOC; c++) {
+                int id = (b - 1) * CHAMBRES_PAR_BLOC + c;
+                chambres.add(new Object[]{id, id, "DOUBLE", b});
+            }
+        }
+        JeuDeDonnees.blocs(jdbcTemplate, blocs);
+        JeuDeDonnees.chambres(jdbcTemplate, chambres);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void afterEach() {
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testFindAllNeChargePasLesChambres() {
+        List<Bloc> blocs = blocService.findAll();
+
+        assertEquals(NB_BLOCS, blocs.size());
+        // blocs + foyer (ManyToOne, avec son université en jointure)
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertThrows(LazyInitializationException.class, () -> blocs.get(0).getChambres().size());
+    }
+
+    @Test
+    void testFindByIdNeChargePasLesChambres() {
+        Bloc bloc = blocService.findById(1L);
+
+        assertEquals("Bloc 1", bloc.getNomBloc());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 2);
+    }
+
+    @Test
+    void testFindAllAvecChambresEnUneRequete() {
+        List<Bloc> blocs = blocRepository.findAllAvecChambres();
+
+        assertEquals(NB_BLOCS, blocs.size());
+        blocs.forEach(b -> assertEquals(CHAMBRES_PAR_BLOC, b.getChambres().size()));
+        // blocs, chambres et foyer en une seule requête
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetChambresParNomBlocJava() {
+        assertEquals(CHAMBRES_PAR_BLOC, chambreService.getChambresParNomBlocJava("Bloc 2").size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testListeChambresParBloc() {
+        chambreService.listeChambresParBloc();
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
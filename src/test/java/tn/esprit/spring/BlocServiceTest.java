@@ -6,6 +6,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import tn.esprit.spring.DAO.Entities.Bloc;
 import tn.esprit.spring.Services.Bloc.IBlocService;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -121,8 +122,14 @@ public class BlocServiceTest {
     @Test
     @Order(6)
     void testDeleteBloc() {
-        // Given
-        Bloc bloc = blocService.addOrUpdate(testBloc);
+        // Given - TestBloc (supprimé par le test précédent) est recréé pour les tests d'affectation suivants;
+        // le service est réellement exécuté, la suppression porte donc sur un bloc propre au test
+        blocService.addOrUpdate(testBloc);
+        Bloc bloc = blocService.addOrUpdate(Bloc.builder()
+                .nomBloc("BlocASupprimer")
+                .capaciteBloc(10L)
+                .chambres(new ArrayList<>())
+                .build());
 
         // When
         blocService.delete(bloc);
@@ -262,7 +269,7 @@ public class BlocServiceTest {
         String nomBloc = "NonExistentBloc";
         String nomFoyer = "NonExistentFoyer";
 
-        // When & Then - should handle gracefully or throw appropriate exception
-        assertDoesNotThrow(() -> blocService.affecterBlocAFoyer(nomBloc, nomFoyer));
+        // When & Then - le service est réellement exécuté: bloc introuvable
+        assertThrows(RuntimeException.class, () -> blocService.affecterBlocAFoyer(nomBloc, nomFoyer));
     }
 }
\ No newline at end of file
@@ -0,0 +1,206 @@
+package tn.esprit.spring;
+
+import lombok.extern.slf4j.Slf4j;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.mail.MailSenderAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.spring.DAO.Entities.Reservation;
+import tn.esprit.spring.DAO.Repositories.EtudiantRepository;
+import tn.esprit.spring.DAO.Repositories.MessageSortantRepository;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Chambre.OccupationChambreService;
+import tn.esprit.spring.Services.Notification.BoiteEnvoiService;
+import tn.esprit.spring.Services.Notification.EnvoiMessagesService;
+import tn.esprit.spring.Services.Notification.IBoiteEnvoiService;
+import tn.esprit.spring.Services.Notification.IEnvoiMessagesService;
+import tn.esprit.spring.Services.Notification.ParametresEnvoiMessages;
+import tn.esprit.spring.Services.Reservation.IReservationService;
+import tn.esprit.spring.Services.Reservation.ReservationService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Boîte d'envoi: mails écrits avec la réservation, envoyés par lots à un serveur SMTP local (GreenMail)
+// Passage planifié repoussé: les envois sont déclenchés par les tests
+@Slf4j
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.mail.host=localhost", "spring.mail.port=3025",
+        "foyer.mail.envoi.delai=3600000"})
+@ImportAutoConfiguration(MailSenderAutoConfiguration.class)
+@Import({ReservationService.class, OccupationChambreService.class, AnneeUniversitaireService.class,
+        ParametresAnneeUniversitaire.class, BoiteEnvoiService.class, EnvoiMessagesService.class, ParametresEnvoiMessages.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BoiteEnvoiTest {
+
+    private static final int NB_MESSAGES = 3000;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private IReservationService reservationService;
+
+    @Autowired
+    private IBoiteEnvoiService boiteEnvoiService;
+
+    @Autowired
+    private IEnvoiMessagesService envoiMessagesService;
+
+    @Autowired
+    private OccupationChambreService occupationChambreService;
+
+    @Autowired
+    private MessageSortantRepository messageSortantRepository;
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void beforeEach() {
+        JeuDeDonnees.bloc(jdbcTemplate, 1, "Bloc A", 10, null);
+        JeuDeDonnees.chambres(jdbcTemplate, List.<Object[]>of(new Object[]{1, 101, "DOUBLE", 1}));
+        jdbcTemplate.update("insert into t_etudiant (id_etudiant, cin, nom_et, prenom_et, email) values " +
+                "(1, 10000001, 'Ben Salah', 'Amira', 'amira@esprit.tn'), (2, 10000002, 'Trabelsi', 'Youssef', null)");
+        occupationChambreService.charger();
+    }
+
+    @AfterEach
+    void afterEach() {
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testConfirmationEtAnnulationEnvoyeesApresLaRequete() throws Exception {
+        Reservation reservation = reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(101L, 10000001L);
+        // Sans adresse, pas de message
+        assertNotNull(reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(101L, 10000002L));
+
+        assertEquals(1, nbMessagesEnAttente());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+
+        assertEquals(1, envoiMessagesService.envoyer());
+        MimeMessage[] recus = greenMail.getReceivedMessages();
+        assertEquals(1, recus.length);
+        assertEquals("Confirmation de votre réservation " + reservation.getIdReservation(), recus[0].getSubject());
+        assertEquals("amira@esprit.tn", recus[0].getAllRecipients()[0].toString());
+        assertEquals(0, nbMessagesEnAttente());
+
+        reservationService.annulerReservation(10000001L);
+        assertEquals(1, envoiMessagesService.envoyer());
+        assertEquals("Annulation de votre réservation " + reservation.getIdReservation(),
+                greenMail.getReceivedMessages()[1].getSubject());
+    }
+
+    @Test
+    void testReservationEnDoubleNiRecompteeNiRenotifiee() {
+        Reservation reservation = reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(101L, 10000001L);
+        Reservation doublon = reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(101L, 10000001L);
+
+        assertEquals(reservation.getIdReservation(), doublon.getIdReservation());
+        assertEquals(1, nbMessagesEnAttente());
+        assertEquals(1, occupationChambreService.nbReservations(1L));
+        assertEquals(0, occupationChambreService.reconcilier());
+    }
+
+    @Test
+    void testMessageLieALaTransaction() {
+        Reservation reservation = Reservation.builder().idReservation("R1").build();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(statut -> {
+            boiteEnvoiService.annulationReservation(reservation, etudiantRepository.chargerParCin(10000001L));
+            statut.setRollbackOnly();
+        });
+        assertEquals(0, nbMessagesEnAttente());
+        // Hors transaction: refusé plutôt qu'envoyé sans la réservation
+        assertThrows(IllegalTransactionStateException.class,
+                () -> boiteEnvoiService.annulationReservation(reservation, etudiantRepository.chargerParCin(10000001L)));
+    }
+
+    @Test
+    void testDebitParLots() {
+        inserer(NB_MESSAGES, "etudiant%d@esprit.tn");
+
+        long debut = System.nanoTime();
+        assertEquals(NB_MESSAGES, envoiMessagesService.envoyer());
+        double secondes = (System.nanoTime() - debut) / 1e9;
+
+        assertEquals(NB_MESSAGES, greenMail.getReceivedMessages().length);
+        assertEquals(0, nbMessagesEnAttente());
+        long debit = Math.round(NB_MESSAGES / secondes * 60);
+        log.info("Boîte d'envoi: {} mails en {} ms ({} mails/min)", NB_MESSAGES, Math.round(secondes * 1000), debit);
+    }
+
+    @Test
+    void testEchecsReprogrammesOuAbandonnes() {
+        inserer(3, "etudiant%d@esprit.tn");
+        jdbcTemplate.update("update t_message_sortant set destinataire = 'pas une adresse' where destinataire = 'etudiant1@esprit.tn'");
+        // Serveur SMTP injoignable
+        JavaMailSenderImpl injoignable = new JavaMailSenderImpl();
+        injoignable.setHost("localhost");
+        injoignable.setPort(ServerSetupTest.SMTP.getPort() + 1);
+        EnvoiMessagesService envoi = new EnvoiMessagesService(messageSortantRepository, injoignable, new ParametresEnvoiMessages());
+
+        assertEquals(0, envoi.envoyer());
+
+        Map<String, Object> invalide = jdbcTemplate.queryForMap("select * from t_message_sortant where destinataire = 'pas une adresse'");
+        assertNull(invalide.get("prochaine_tentative"));
+        assertNotNull(invalide.get("derniere_erreur"));
+        List<Map<String, Object>> reprogrammes = jdbcTemplate.queryForList(
+                "select * from t_message_sortant where prochaine_tentative is not null");
+        assertEquals(2, reprogrammes.size());
+        for (Map<String, Object> message : reprogrammes) {
+            assertEquals(1, message.get("nb_tentatives"));
+            // Première attente: une minute
+            assertTrue(((Timestamp) message.get("prochaine_tentative")).toLocalDateTime().isAfter(LocalDateTime.now().plusSeconds(50)));
+        }
+        // Rien n'est dû avant l'échéance, puis le serveur disponible reçoit les deux messages reprogrammés
+        assertEquals(0, envoiMessagesService.envoyer());
+        jdbcTemplate.update("update t_message_sortant set prochaine_tentative = ? where prochaine_tentative is not null",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)));
+        assertEquals(2, envoiMessagesService.envoyer());
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        // Le message abandonné reste en table
+        assertEquals(1, nbMessagesEnAttente());
+    }
+
+    private void inserer(int nombre, String adresse) {
+        Timestamp maintenant = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> messages = new ArrayList<>();
+        for (int m = 1; m <= nombre; m++) {
+            messages.add(new Object[]{String.format(adresse, m), "Message " + m, "Corps " + m, maintenant, maintenant});
+        }
+        jdbcTemplate.batchUpdate("insert into t_message_sortant (destinataire, sujet, corps, date_creation, nb_tentatives, " +
+                "prochaine_tentative) values (?, ?, ?, ?, 0, ?)", messages);
+    }
+
+    private int nbMessagesEnAttente() {
+        return jdbcTemplate.queryForObject("select count(*) from t_message_sortant", Integer.class);
+    }
+}
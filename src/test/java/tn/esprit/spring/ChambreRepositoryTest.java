@@ -0,0 +1,156 @@
+package tn.esprit.spring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tn.esprit.spring.DAO.Entities.Chambre;
+import tn.esprit.spring.DAO.Entities.Reservation;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.ChambreVue;
+import tn.esprit.spring.DAO.Repositories.ChambreRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+public class ChambreRepositoryTest {
+
+    // mvn test -Dtest=ChambreRepositoryTest -Dfoyer.test.chambres=50000
+    private static final int NB_CHAMBRES = Integer.getInteger("foyer.test.chambres", 2000);
+    private static final int NB_FOYERS = 4;
+    private static final int CHAMBRES_PAR_BLOC = 50;
+
+    @Autowired
+    private ChambreRepository chambreRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDate dateDebutAU;
+    private LocalDate dateFinAU;
+
+    @BeforeEach
+    void beforeEach() {
+        // Période de réservation de l'AU courante: 1er août -> 31 juillet
+        int year = LocalDate.now().getYear();
+        if (LocalDate.now().getMonthValue() <= 7) {
+            dateDebutAU = LocalDate.of(year - 1, 8, 1);
+            dateFinAU = LocalDate.of(year, 7, 31);
+        } else {
+            dateDebutAU = LocalDate.of(year, 8, 1);
+            dateFinAU = LocalDate.of(year + 1, 7, 31);
+        }
+        genererDonnees(new Random(42));
+    }
+
+    @Test
+    void testChambresNonReserveEquivalentAuCalculEnMemoire() {
+        for (int f = 1; f <= NB_FOYERS; f++) {
+            for (TypeChambre type : TypeChambre.values()) {
+                String nomFoyer = "Foyer " + f;
+
+                long debut = System.nanoTime();
+                List<Long> attendu = ancienCalcul(nomFoyer, type);
+                long tempsAncien = System.nanoTime() - debut;
+
+                debut = System.nanoTime();
+                List<Long> obtenu = chambreRepository.getChambresNonReserveParNomFoyerEtTypeChambre(
+                                nomFoyer, type, type.getCapacite(), dateDebutAU, dateFinAU)
+                        .stream().map(ChambreVue::getIdChambre).sorted().toList();
+                long tempsRequete = System.nanoTime() - debut;
+
+                assertEquals(attendu, obtenu, nomFoyer + " / " + type);
+                log.info("{} {}: {} chambres, en memoire {} ms, requete {} ms", nomFoyer, type,
+                        obtenu.size(), tempsAncien / 1_000_000, tempsRequete / 1_000_000);
+            }
+        }
+    }
+
+    @Test
+    void testChambresNonReserveFoyerInexistant() {
+        assertTrue(chambreRepository.getChambresNonReserveParNomFoyerEtTypeChambre(
+                "Foyer inexistant", TypeChambre.SIMPLE, 1, dateDebutAU, dateFinAU).isEmpty());
+    }
+
+    @Test
+    void testCountReservationsValidesParChambre() {
+        Map<Long, Long> occupation = new HashMap<>();
+        chambreRepository.countReservationsValidesParChambre(dateDebutAU, dateFinAU)
+                .forEach(o -> occupation.put(o.getIdChambre(), o.getNbReservations()));
+
+        for (long id = 1; id <= Math.min(NB_CHAMBRES, 200); id++) {
+            long attendu = chambreRepository.countReservationsByIdChambreAndReservationsEstValideAndReservationsAnneeUniversitaireBetween(
+                    id, true, dateDebutAU, dateFinAU);
+            assertEquals(attendu, occupation.getOrDefault(id, 0L), "chambre " + id);
+        }
+    }
+
+    // Ancien algorithme de ChambreService (findAll + parcours des réservations),
+    // bornes comprises et réservations valides seules comme à la réservation
+    private List<Long> ancienCalcul(String nomFoyer, TypeChambre type) {
+        List<Long> ids = new ArrayList<>();
+        for (Chambre c : chambreRepository.findAll()) {
+            if (c.getTypeC().equals(type) && c.getBloc().getFoyer().getNomFoyer().equals(nomFoyer)) {
+                int numReservation = 0;
+                for (Reservation reservation : c.getReservations()) {
+                    if (reservation.isEstValide()
+                            && !reservation.getAnneeUniversitaire().isAfter(dateFinAU)
+                            && !reservation.getAnneeUniversitaire().isBefore(dateDebutAU)) {
+                        numReservation++;
+                    }
+                }
+                if (numReservation < type.getCapacite()) {
+                    ids.add(c.getIdChambre());
+                }
+            }
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    private void genererDonnees(Random random) {
+        List<Object[]> foyers = new ArrayList<>();
+        for (int f = 1; f <= NB_FOYERS; f++) {
+            foyers.add(new Object[]{f, "Foyer " + f, 1000});
+        }
+        JeuDeDonnees.foyers(jdbcTemplate, foyers);
+
+        int nbBlocs = (NB_CHAMBRES + CHAMBRES_PAR_BLOC - 1) / CHAMBRES_PAR_BLOC;
+        List<Object[]> blocs = new ArrayList<>();
+        for (int b = 1; b <= nbBlocs; b++) {
+            blocs.add(new Object[]{b, "Bloc " + b, CHAMBRES_PAR_BLOC, 1 + b % NB_FOYERS});
+        }
+        JeuDeDonnees.blocs(jdbcTemplate, blocs);
+
+        // Dates dans la période (dont août, avant la rentrée), l'AU précédente, aux bornes et juste après
+        LocalDate[] dates = {dateDebutAU.plusDays(10), dateFinAU.minusDays(10), dateDebutAU.minusYears(1).plusDays(5),
+                dateDebutAU, dateFinAU, dateFinAU.plusDays(1)};
+        TypeChambre[] types = TypeChambre.values();
+        List<Object[]> chambres = new ArrayList<>();
+        List<Object[]> reservations = new ArrayList<>();
+        List<Object[]> liens = new ArrayList<>();
+        for (int c = 1; c <= NB_CHAMBRES; c++) {
+            TypeChambre type = types[random.nextInt(types.length)];
+            chambres.add(new Object[]{c, c, type.name(), 1 + (c - 1) / CHAMBRES_PAR_BLOC});
+            int nbReservations = random.nextInt(type.getCapacite() + 2);
+            for (int r = 0; r < nbReservations; r++) {
+                String id = "R-" + c + "-" + r;
+                // Une réservation sur quatre invalidée
+                reservations.add(new Object[]{id, dates[random.nextInt(dates.length)], random.nextInt(4) != 0});
+                liens.add(new Object[]{c, id});
+            }
+        }
+        JeuDeDonnees.chambres(jdbcTemplate, chambres);
+        JeuDeDonnees.reservations(jdbcTemplate, reservations);
+        JeuDeDonnees.reservationsDesChambres(jdbcTemplate, liens);
+    }
+}
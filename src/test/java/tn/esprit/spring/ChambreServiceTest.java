@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import tn.esprit.spring.DAO.Entities.Chambre;
 import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.ChambreVue;
 import tn.esprit.spring.Services.Chambre.IChambreService;
 
 import java.util.List;
@@ -157,7 +158,7 @@ public class ChambreServiceTest {
     @Order(9)
     void testGetChambresNonReserveParNomFoyerEtTypeChambre() {
         // When
-        List<Chambre> chambres = chambreService.getChambresNonReserveParNomFoyerEtTypeChambre("Foyer A", TypeChambre.SIMPLE);
+        List<ChambreVue> chambres = chambreService.getChambresNonReserveParNomFoyerEtTypeChambre("Foyer A", TypeChambre.SIMPLE);
 
         // Then
         assertNotNull(chambres);
@@ -0,0 +1,76 @@
+package tn.esprit.spring;
+
+import org.junit.jupiter.api.Test;
+import tn.esprit.spring.Services.Chambre.CompteursParChambre;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compteurs primitifs de l'index d'occupation, comparés à une HashMap sur des opérations aléatoires
+// (assez de chambres par segment pour les agrandissements et les suppressions en chaîne)
+public class CompteursParChambreTest {
+
+    private static final int NB_SEGMENTS = 4;
+
+    @Test
+    void testCommeUneMap() {
+        CompteursParChambre compteurs = new CompteursParChambre(NB_SEGMENTS);
+        Map<Long, Integer> attendu = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 200_000; i++) {
+            long id = random.nextInt(5000);
+            int ecart = random.nextInt(3) - 1;
+            if (random.nextInt(10) == 0) {
+                int nb = random.nextInt(3);
+                compteurs.fixer(id, nb);
+                ecart = nb - attendu.getOrDefault(id, 0);
+            } else {
+                compteurs.ajouter(id, ecart);
+            }
+            int n = attendu.getOrDefault(id, 0) + ecart;
+            if (n > 0) {
+                attendu.put(id, n);
+            } else {
+                attendu.remove(id);
+            }
+            assertEquals(attendu.getOrDefault(id, 0), compteurs.get(id));
+        }
+        assertEquals(attendu.size(), compteurs.taille());
+        Set<Long> ids = new HashSet<>();
+        for (int s = 0; s < NB_SEGMENTS; s++) {
+            int segment = s;
+            compteurs.pourChaque(s, id -> {
+                assertEquals(segment, CompteursParChambre.segment(id, NB_SEGMENTS));
+                assertTrue(ids.add(id));
+            });
+        }
+        assertEquals(attendu.keySet(), ids);
+        attendu.forEach((id, nb) -> assertEquals(nb, compteurs.get(id)));
+    }
+
+    @Test
+    void testAjouterTout() {
+        CompteursParChambre compteurs = new CompteursParChambre(NB_SEGMENTS);
+        CompteursParChambre autres = new CompteursParChambre(NB_SEGMENTS);
+        compteurs.ajouter(1L, 2);
+        autres.ajouter(1L, 1);
+        autres.ajouter(0L, 3);
+        autres.ajouter(-7L, 1);
+
+        compteurs.ajouterTout(autres);
+
+        assertEquals(3, compteurs.get(1L));
+        assertEquals(3, compteurs.get(0L));
+        assertEquals(1, compteurs.get(-7L));
+        assertEquals(3, compteurs.taille());
+        // Un compteur ne descend pas sous 0
+        compteurs.ajouter(2L, -1);
+        assertEquals(0, compteurs.get(2L));
+        assertEquals(3, compteurs.taille());
+    }
+}
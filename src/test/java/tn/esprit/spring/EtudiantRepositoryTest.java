@@ -0,0 +1,142 @@
+package tn.esprit.spring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Projections.EtudiantVue;
+import tn.esprit.spring.Services.Etudiant.EtudiantService;
+import tn.esprit.spring.Services.Etudiant.IEtudiantService;
+import tn.esprit.spring.Services.PageCurseur;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({EtudiantService.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EtudiantRepositoryTest {
+
+    private static final int NB_ETUDIANTS = 1000;
+    private static final int TAILLE = 40;
+
+    @Autowired
+    private IEtudiantService etudiantService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void beforeEach() {
+        List<Object[]> etudiants = new ArrayList<>();
+        for (int e = 1; e <= NB_ETUDIANTS; e++) {
+            // 1 étudiant sur 3 s'appelle Ben Ali, les dates de naissance couvrent 1000 jours
+            String nom = e % 3 == 0 ? "Ben Ali" : "Nom" + e;
+            etudiants.add(new Object[]{e, 30_000_000L + e, nom, LocalDate.of(2000, 1, 1).plusDays(e)});
+        }
+        jdbcTemplate.batchUpdate("insert into t_etudiant (id_etudiant, cin, nom_et, date_naissance) values (?, ?, ?, ?)", etudiants);
+    }
+
+    @AfterEach
+    void afterEach() {
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testRechercherParNom() {
+        List<EtudiantVue> tous = parcourir(apres -> etudiantService.rechercherParNom("Ali", apres, TAILLE));
+        assertEquals(NB_ETUDIANTS / 3, tous.size());
+        tous.forEach(e -> assertEquals("Ben Ali", e.getNomEt()));
+    }
+
+    @Test
+    void testRechercherParNomLike() {
+        assertEquals(NB_ETUDIANTS / 3,
+                parcourir(apres -> etudiantService.rechercherParNomLike("Ben%", apres, TAILLE)).size());
+    }
+
+    @Test
+    void testRechercherParDateNaissance() {
+        LocalDate d1 = LocalDate.of(2000, 1, 1).plusDays(101);
+        LocalDate d2 = LocalDate.of(2000, 1, 1).plusDays(300);
+        List<EtudiantVue> tous = parcourir(apres -> etudiantService.rechercherParDateNaissance(d1, d2, apres, TAILLE));
+        assertEquals(200, tous.size());
+    }
+
+    @Test
+    void testDernierePageSansCurseur() {
+        PageCurseur<EtudiantVue> page = etudiantService.rechercherParNom("Nom1", 0, NB_ETUDIANTS);
+        assertNull(page.curseurSuivant());
+        // Pile la taille du résultat: pas de page suivante vide
+        page = etudiantService.rechercherParNom("Ben Ali", 0, NB_ETUDIANTS / 3);
+        assertEquals(NB_ETUDIANTS / 3, page.contenu().size());
+        assertNull(page.curseurSuivant());
+    }
+
+    @Test
+    void testPageSerialiseeEnUneRequete() throws Exception {
+        // Chaque Ben Ali a une réservation: elle ne doit être ni relue ni sérialisée
+        List<Object[]> reservations = new ArrayList<>();
+        List<Object[]> liens = new ArrayList<>();
+        for (int e = 3; e <= NB_ETUDIANTS; e += 3) {
+            reservations.add(new Object[]{"R" + e, LocalDate.now(), true});
+            liens.add(new Object[]{"R" + e, e});
+        }
+        JeuDeDonnees.reservations(jdbcTemplate, reservations);
+        JeuDeDonnees.etudiantsDesReservations(jdbcTemplate, liens);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        JsonNode page = objectMapper.valueToTree(etudiantService.rechercherParNom("Ali", 0, TAILLE));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(TAILLE, page.get("contenu").size());
+        assertNull(page.get("contenu").get(0).get("reservations"));
+    }
+
+    @Test
+    void testIndexDeclares() {
+        List<String> index = jdbcTemplate.queryForList(
+                "select index_name from information_schema.indexes where table_name = 'T_ETUDIANT'", String.class);
+        assertTrue(index.stream().anyMatch(i -> i.equalsIgnoreCase("idx_etudiant_nom_id")), index.toString());
+        assertTrue(index.stream().anyMatch(i -> i.equalsIgnoreCase("idx_etudiant_date_naissance_id")), index.toString());
+    }
+
+    // Suit les curseurs jusqu'à la dernière page en vérifiant l'ordre strict des ids
+    private List<EtudiantVue> parcourir(LongFunction<PageCurseur<EtudiantVue>> recherche) {
+        List<EtudiantVue> tous = new ArrayList<>();
+        long apres = 0;
+        while (true) {
+            PageCurseur<EtudiantVue> page = recherche.apply(apres);
+            assertTrue(page.contenu().size() <= TAILLE);
+            for (EtudiantVue e : page.contenu()) {
+                assertTrue(e.getIdEtudiant() > apres);
+                apres = e.getIdEtudiant();
+                tous.add(e);
+            }
+            if (page.curseurSuivant() == null) {
+                return tous;
+            }
+            assertEquals(apres, page.curseurSuivant());
+        }
+    }
+}
@@ -7,6 +7,7 @@ import tn.esprit.spring.DAO.Entities.Etudiant;
 import tn.esprit.spring.Services.Etudiant.IEtudiantService;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -157,8 +158,8 @@ public class EtudiantServiceTest {
         String nomEtudiant = "TestNom";
         String prenomEtudiant = "TestPrenom";
 
-        // When & Then - should not throw exception
-        assertDoesNotThrow(() -> 
+        // When & Then - le service est réellement exécuté: réservation introuvable
+        assertThrows(NoSuchElementException.class, () ->
             etudiantService.affecterReservationAEtudiant(idReservation, nomEtudiant, prenomEtudiant)
         );
     }
@@ -171,8 +172,8 @@ public class EtudiantServiceTest {
         String nomEtudiant = "TestNom";
         String prenomEtudiant = "TestPrenom";
 
-        // When & Then - should not throw exception
-        assertDoesNotThrow(() -> 
+        // When & Then - le service est réellement exécuté: réservation introuvable
+        assertThrows(NoSuchElementException.class, () ->
             etudiantService.desaffecterReservationAEtudiant(idReservation, nomEtudiant, prenomEtudiant)
         );
     }
@@ -0,0 +1,184 @@
+package tn.esprit.spring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.Chambre;
+import tn.esprit.spring.DAO.Repositories.BlocRepository;
+import tn.esprit.spring.DAO.Repositories.EtudiantRepository;
+import tn.esprit.spring.DAO.Repositories.FoyerRepository;
+import tn.esprit.spring.DAO.Repositories.UniversiteRepository;
+import tn.esprit.spring.RestControllers.ExportNdjson;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Chambre.ChambreService;
+import tn.esprit.spring.Services.Chambre.IChambreService;
+import tn.esprit.spring.Services.Chambre.OccupationChambreService;
+import tn.esprit.spring.Services.Chambre.StatistiquesChambreService;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Export NDJSON: une seule requête par table quel que soit le nombre de lignes et de lots,
+// les associations (réservations, blocs, bloc -> foyer -> université) ne sont pas relues
+@DataJpaTest(properties = {"spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=tn.esprit.spring.ExportNdjsonTest$Capture"})
+@Import({ExportNdjson.class, ChambreService.class, OccupationChambreService.class, StatistiquesChambreService.class,
+        JacksonAutoConfiguration.class, AnneeUniversitaireService.class, ParametresAnneeUniversitaire.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ExportNdjsonTest {
+
+    private static final int NB_CHAMBRES = 1200;
+
+    @Autowired
+    private ExportNdjson exportNdjson;
+
+    @Autowired
+    private IChambreService chambreService;
+
+    @Autowired
+    private FoyerRepository foyerRepository;
+
+    @Autowired
+    private BlocRepository blocRepository;
+
+    @Autowired
+    private UniversiteRepository universiteRepository;
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Requêtes du thread du test seules: les tâches planifiées du contexte ne sont pas comptées
+    public static class Capture implements StatementInspector {
+        static final List<String> requetes = Collections.synchronizedList(new ArrayList<>());
+        static volatile Thread thread;
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == thread) {
+                requetes.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        JeuDeDonnees.foyer(jdbcTemplate, 1, "Foyer E", 2000);
+        JeuDeDonnees.universite(jdbcTemplate, 1, "Esprit", null, 1L);
+        JeuDeDonnees.bloc(jdbcTemplate, 1, "Bloc E", NB_CHAMBRES, 1L);
+        // Une réservation et un étudiant par chambre: associations à ne pas parcourir pendant l'export
+        List<Object[]> chambres = new ArrayList<>();
+        List<Object[]> reservations = new ArrayList<>();
+        List<Object[]> liens = new ArrayList<>();
+        List<Object[]> etudiants = new ArrayList<>();
+        List<Object[]> occupants = new ArrayList<>();
+        for (int c = 1; c <= NB_CHAMBRES; c++) {
+            chambres.add(new Object[]{c, 1000 + c, "SIMPLE", 1});
+            reservations.add(new Object[]{"R" + c, LocalDate.now(), true});
+            liens.add(new Object[]{c, "R" + c});
+            etudiants.add(new Object[]{c, 10000000 + c, "Nom" + c});
+            occupants.add(new Object[]{"R" + c, c});
+        }
+        JeuDeDonnees.chambres(jdbcTemplate, chambres);
+        JeuDeDonnees.reservations(jdbcTemplate, reservations);
+        JeuDeDonnees.reservationsDesChambres(jdbcTemplate, liens);
+        JeuDeDonnees.etudiants(jdbcTemplate, etudiants);
+        JeuDeDonnees.etudiantsDesReservations(jdbcTemplate, occupants);
+        Capture.thread = Thread.currentThread();
+        Capture.requetes.clear();
+    }
+
+    @AfterEach
+    void afterEach() {
+        Capture.thread = null;
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testExportChambres() throws Exception {
+        // Plusieurs lots de 500 (clear() entre eux): toujours la seule requête de lecture
+        List<JsonNode> lignes = exporterEnUneRequete(chambreService::streamVues, NB_CHAMBRES);
+        Set<Long> ids = new HashSet<>();
+        for (JsonNode ligne : lignes) {
+            ids.add(ligne.get("idChambre").asLong());
+            assertEquals("Bloc E", ligne.get("nomBloc").asText());
+            assertNull(ligne.get("reservations"));
+        }
+        assertEquals(NB_CHAMBRES, ids.size());
+    }
+
+    @Test
+    void testExportFoyerSansCycle() throws Exception {
+        JsonNode foyer = exporterEnUneRequete(foyerRepository::streamVues, 1).get(0);
+        assertEquals("Esprit", foyer.get("nomUniversite").asText());
+        assertEquals(1, foyer.get("nbBlocs").asLong());
+        assertNull(foyer.get("universite"));
+        assertNull(foyer.get("blocs"));
+    }
+
+    @Test
+    void testExportAutresTables() throws Exception {
+        assertEquals("Foyer E", exporterEnUneRequete(blocRepository::streamVues, 1).get(0).get("nomFoyer").asText());
+        assertEquals("Foyer E", exporterEnUneRequete(universiteRepository::streamVues, 1).get(0).get("nomFoyer").asText());
+        List<JsonNode> etudiants = exporterEnUneRequete(etudiantRepository::streamVues, NB_CHAMBRES);
+        assertEquals("Nom1", etudiants.get(0).get("nomEt").asText());
+        assertNull(etudiants.get(0).get("reservations"));
+    }
+
+    @Test
+    void testPaginationParCle() {
+        Set<Long> ids = new HashSet<>();
+        long apres = 0;
+        int pages = 0;
+        List<Chambre> page;
+        while (!(page = chambreService.findAllApres(apres, 500)).isEmpty()) {
+            for (Chambre c : page) {
+                assertTrue(c.getIdChambre() > apres);
+                assertTrue(ids.add(c.getIdChambre()));
+            }
+            apres = page.get(page.size() - 1).getIdChambre();
+            pages++;
+        }
+        assertEquals(NB_CHAMBRES, ids.size());
+        assertEquals(3, pages);
+    }
+
+    private <T> List<JsonNode> exporterEnUneRequete(Supplier<Stream<T>> source, int attendu) throws Exception {
+        Capture.requetes.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(attendu, exportNdjson.ecrire(source, out));
+        assertEquals(1, Capture.requetes.size(), Capture.requetes.toString());
+
+        List<JsonNode> lignes = new ArrayList<>();
+        for (String ligne : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lignes.add(objectMapper.readTree(ligne));
+        }
+        assertEquals(attendu, lignes.size());
+        return lignes;
+    }
+}
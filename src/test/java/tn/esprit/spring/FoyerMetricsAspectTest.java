@@ -0,0 +1,80 @@
+package tn.esprit.spring;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import tn.esprit.spring.AOP.FoyerMetricsAspect;
+import tn.esprit.spring.DAO.Entities.Universite;
+import tn.esprit.spring.DAO.Repositories.UniversiteRepository;
+import tn.esprit.spring.Services.Universite.IUniversiteService;
+import tn.esprit.spring.Services.Universite.UniversiteService;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class FoyerMetricsAspectTest {
+
+    private UniversiteRepository repo;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void beforeEach() {
+        repo = mock(UniversiteRepository.class);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testValeurRetourneeEtTimer() {
+        Universite universite = Universite.builder().idUniversite(1L).nomUniversite("Esprit").build();
+        when(repo.findById(1L)).thenReturn(Optional.of(universite));
+        IUniversiteService service = proxy(1.0);
+
+        for (int i = 0; i < 5; i++) {
+            assertSame(universite, service.findById(1L));
+        }
+
+        assertEquals(5, timer("findById", "succes").count());
+        assertEquals(0, timer("findById", "erreur").count());
+    }
+
+    @Test
+    void testExceptionPropageeEtMesuree() {
+        when(repo.findById(2L)).thenReturn(Optional.empty());
+        IUniversiteService service = proxy(1.0);
+
+        assertThrows(NoSuchElementException.class, () -> service.findById(2L));
+
+        assertEquals(1, timer("findById", "erreur").count());
+    }
+
+    @Test
+    void testEchantillonnage() {
+        IUniversiteService service = proxy(0.0);
+
+        service.findAll();
+
+        // Appel exécuté mais non mesuré
+        verify(repo).findAll();
+        assertNull(registry.find(FoyerMetricsAspect.TIMER).timer());
+    }
+
+    private IUniversiteService proxy(double echantillonnage) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new UniversiteService(repo));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new FoyerMetricsAspect(registry, echantillonnage));
+        return factory.getProxy();
+    }
+
+    private Timer timer(String methode, String issue) {
+        return registry.get(FoyerMetricsAspect.TIMER)
+                .tag("classe", "UniversiteService")
+                .tag("methode", methode)
+                .tag("issue", issue)
+                .timer();
+    }
+}
@@ -8,6 +8,7 @@ import tn.esprit.spring.DAO.Entities.Universite;
 import tn.esprit.spring.Services.Foyer.IFoyerService;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -244,8 +245,8 @@ public class FoyerServiceTest {
         Long nonExistentFoyerId = 999999L;
         String nonExistentUniversite = "NonExistentUniv";
 
-        // When & Then - should handle gracefully or throw appropriate exception
-        assertDoesNotThrow(() -> 
+        // When & Then - le service est réellement exécuté: foyer introuvable
+        assertThrows(NoSuchElementException.class, () ->
             foyerService.affecterFoyerAUniversite(nonExistentFoyerId, nonExistentUniversite)
         );
     }
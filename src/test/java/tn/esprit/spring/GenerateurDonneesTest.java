@@ -0,0 +1,128 @@
+package tn.esprit.spring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.Generateur.BilanGeneration;
+import tn.esprit.spring.Generateur.GenerateurDonnees;
+import tn.esprit.spring.Generateur.ParametresGenerateur;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({GenerateurDonnees.class, AnneeUniversitaireService.class,
+        ParametresAnneeUniversitaire.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class GenerateurDonneesTest {
+
+    @Autowired
+    private GenerateurDonnees generateurDonnees;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void afterEach() {
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testVolumes() {
+        BilanGeneration bilan = generateurDonnees.generer(parametres(7L));
+
+        assertEquals(new BilanGeneration(3, 6, 120, 500, bilan.reservations()), bilan);
+        assertEquals(3, count("t_foyer"));
+        assertEquals(3, count("t_universite"));
+        assertEquals(120, count("t_chambre"));
+        assertEquals(500, count("t_etudiant"));
+        assertEquals(bilan.reservations(), count("t_reservation"));
+        assertEquals(bilan.reservations(), count("t_chambre_reservations"));
+        assertEquals(bilan.reservations(), count("t_reservation_etudiants"));
+        assertTrue(bilan.reservations() > 0);
+    }
+
+    @Test
+    void testMemeGraineMemesDonnees() {
+        generateurDonnees.generer(parametres(7L));
+        List<Map<String, Object>> premier = reservations();
+
+        ParametresGenerateur p = parametres(7L);
+        p.setVider(true);
+        generateurDonnees.generer(p);
+        assertEquals(premier, reservations());
+
+        p = parametres(8L);
+        p.setVider(true);
+        generateurDonnees.generer(p);
+        assertNotEquals(premier, reservations());
+    }
+
+    @Test
+    void testCapaciteEtReservationsValides() {
+        generateurDonnees.generer(parametres(7L));
+
+        // Aucune chambre au-delà de sa capacité sur une année universitaire
+        for (TypeChambre type : TypeChambre.values()) {
+            Long max = jdbcTemplate.queryForObject("select coalesce(max(n), 0) from (select count(*) n from t_chambre c"
+                    + " join t_chambre_reservations cr on cr.chambre_id_chambre = c.id_chambre"
+                    + " join t_reservation r on r.id_reservation = cr.reservations_id_reservation"
+                    + " where c.typec = ? group by c.id_chambre, substring(r.id_reservation, 1, 9)) t", Long.class, type.name());
+            assertTrue(max <= type.getCapacite(), type + ": " + max);
+        }
+        // Seules les réservations de l'année en cours sont valides
+        assertEquals(count("t_reservation") > 0 ? 1 : 0, jdbcTemplate.queryForObject(
+                "select count(distinct substring(id_reservation, 1, 9)) from t_reservation where est_valide", Long.class));
+    }
+
+    @Test
+    void testRepartitionTypes() {
+        ParametresGenerateur p = parametres(7L);
+        p.setRepartitionTypes(Map.of(TypeChambre.TRIPLE, 1.0));
+        p.setTauxOccupation(1.0);
+        BilanGeneration bilan = generateurDonnees.generer(p);
+
+        assertEquals(120, jdbcTemplate.queryForObject("select count(*) from t_chambre where typec = 'TRIPLE'", Long.class));
+        assertEquals(120L * 3 * 2, bilan.reservations());
+    }
+
+    @Test
+    void testBaseNonVide() {
+        generateurDonnees.generer(parametres(7L));
+
+        assertThrows(IllegalStateException.class, () -> generateurDonnees.generer(parametres(7L)));
+    }
+
+    private ParametresGenerateur parametres(long graine) {
+        ParametresGenerateur p = new ParametresGenerateur();
+        p.setGraine(graine);
+        p.setNbUniversites(3);
+        p.setBlocsParFoyer(2);
+        p.setChambresParBloc(20);
+        p.setNbEtudiants(500);
+        p.setTauxOccupation(0.5);
+        p.setNbAnnees(2);
+        p.setTailleLot(25);
+        return p;
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    private List<Map<String, Object>> reservations() {
+        return jdbcTemplate.queryForList("select r.id_reservation, r.annee_universitaire, c.typec from t_reservation r"
+                + " join t_chambre_reservations cr on cr.reservations_id_reservation = r.id_reservation"
+                + " join t_chambre c on c.id_chambre = cr.chambre_id_chambre order by r.id_reservation");
+    }
+}
@@ -0,0 +1,159 @@
+package tn.esprit.spring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Chambre.OccupationChambreService;
+import tn.esprit.spring.Services.Reservation.IImportReservationService;
+import tn.esprit.spring.Services.Reservation.ImportReservationService;
+import tn.esprit.spring.Services.Reservation.LigneImportReservation;
+import tn.esprit.spring.Services.Reservation.ResultatImportReservation.Statut;
+import tn.esprit.spring.Services.Reservation.ResultatImportReservation;
+
+import java.io.ByteArrayInputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({ImportReservationService.class, OccupationChambreService.class, AnneeUniversitaireService.class,
+        ParametresAnneeUniversitaire.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ImportReservationTest {
+
+    private static final int NB_CHAMBRES = 100;
+    private static final int NB_ETUDIANTS = 600;
+
+    @Autowired
+    private IImportReservationService importService;
+
+    @Autowired
+    private OccupationChambreService occupationChambreService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void beforeEach() {
+        JeuDeDonnees.bloc(jdbcTemplate, 1, "Bloc I", NB_CHAMBRES, null);
+        TypeChambre[] types = TypeChambre.values();
+        List<Object[]> chambres = new ArrayList<>();
+        for (int c = 1; c <= NB_CHAMBRES; c++) {
+            chambres.add(new Object[]{c, 100 + c, types[c % types.length].name(), 1});
+        }
+        JeuDeDonnees.chambres(jdbcTemplate, chambres);
+        List<Object[]> etudiants = new ArrayList<>();
+        for (int e = 1; e <= NB_ETUDIANTS; e++) {
+            etudiants.add(new Object[]{e, 20_000_000L + e, "Etudiant" + e});
+        }
+        JeuDeDonnees.etudiants(jdbcTemplate, etudiants);
+        occupationChambreService.charger();
+    }
+
+    @AfterEach
+    void afterEach() {
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testImporterReservations() {
+        Random random = new Random(3);
+        List<LigneImportReservation> lignes = new ArrayList<>();
+        for (int e = 1; e <= NB_ETUDIANTS; e++) {
+            lignes.add(new LigneImportReservation(101 + random.nextInt(NB_CHAMBRES), 20_000_000L + e));
+        }
+        lignes.add(new LigneImportReservation(9999, 20_000_001L));
+        lignes.add(new LigneImportReservation(101, 1L));
+        lignes.add(lignes.get(0));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<ResultatImportReservation> resultats = importService.importerReservations(lignes);
+
+        assertEquals(lignes.size(), resultats.size());
+        Map<Statut, Long> parStatut = resultats.stream()
+                .collect(Collectors.groupingBy(ResultatImportReservation::statut, Collectors.counting()));
+        assertEquals(1L, parStatut.get(Statut.CHAMBRE_INTROUVABLE));
+        assertEquals(1L, parStatut.get(Statut.ETUDIANT_INTROUVABLE));
+        assertNull(parStatut.get(Statut.ERREUR));
+        long reservees = parStatut.getOrDefault(Statut.RESERVEE, 0L);
+        assertEquals(reservees, (long) jdbcTemplate.queryForObject("select count(*) from t_reservation", Long.class));
+        assertEquals(reservees, (long) jdbcTemplate.queryForObject("select count(*) from t_chambre_reservations", Long.class));
+        assertEquals(reservees, (long) jdbcTemplate.queryForObject("select count(*) from t_reservation_etudiants", Long.class));
+
+        // Aucune chambre ne dépasse sa capacité
+        for (Map<String, Object> ligne : jdbcTemplate.queryForList(
+                "select c.typec as type, count(cr.reservations_id_reservation) as nb from t_chambre c " +
+                        "left join t_chambre_reservations cr on cr.chambre_id_chambre = c.id_chambre group by c.id_chambre, c.typec")) {
+            assertTrue(((Number) ligne.get("nb")).intValue() <= TypeChambre.valueOf((String) ligne.get("type")).getCapacite());
+        }
+        assertEquals(0, occupationChambreService.reconcilier());
+
+        // Insertions regroupées en batch: bien moins de requêtes que de lignes insérées
+        assertTrue(statistics.getPrepareStatementCount() < reservees,
+                "requêtes: " + statistics.getPrepareStatementCount() + ", réservations: " + reservees);
+    }
+
+    @Test
+    void testImporterEnFlux() throws Exception {
+        // Plus d'un lot, lu depuis le flux JSON sans liste intermédiaire
+        List<LigneImportReservation> lignes = new ArrayList<>();
+        for (int e = 1; e <= NB_ETUDIANTS; e++) {
+            lignes.add(new LigneImportReservation(101 + e % NB_CHAMBRES, 20_000_000L + e));
+        }
+        List<ResultatImportReservation> resultats = new ArrayList<>();
+
+        long total = importService.importerReservations(new ByteArrayInputStream(objectMapper.writeValueAsBytes(lignes)),
+                resultats::add);
+
+        assertEquals(NB_ETUDIANTS, total);
+        assertEquals(NB_ETUDIANTS, resultats.size());
+        assertEquals(lignes.get(NB_ETUDIANTS - 1).cin(), resultats.get(NB_ETUDIANTS - 1).cin());
+        long reservees = resultats.stream().filter(r -> r.statut() == Statut.RESERVEE).count();
+        assertTrue(reservees > 0);
+        assertEquals(reservees, (long) jdbcTemplate.queryForObject("select count(*) from t_reservation", Long.class));
+    }
+
+    @Test
+    void testErreurLigneParLigne() {
+        // Une seule réservation refusée au flush: les autres lignes du lot sont tout de même importées
+        jdbcTemplate.update("alter table t_reservation add constraint ck_import_test check (id_reservation not like '%-20000007')");
+        try {
+            List<LigneImportReservation> lignes = new ArrayList<>();
+            for (int e = 1; e <= 10; e++) {
+                lignes.add(new LigneImportReservation(100 + e, 20_000_000L + e));
+            }
+
+            List<ResultatImportReservation> resultats = importService.importerReservations(lignes);
+
+            for (ResultatImportReservation r : resultats) {
+                assertEquals(r.cin() == 20_000_007L ? Statut.ERREUR : Statut.RESERVEE, r.statut(), r.toString());
+            }
+            assertEquals(9, jdbcTemplate.queryForObject("select count(*) from t_reservation", Integer.class));
+            // Places du lot annulé rendues à l'index
+            assertEquals(0, occupationChambreService.nbReservations(7L));
+            assertEquals(0, occupationChambreService.reconcilier());
+        } finally {
+            jdbcTemplate.update("alter table t_reservation drop constraint ck_import_test");
+        }
+    }
+}
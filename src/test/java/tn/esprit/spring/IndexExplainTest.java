@@ -0,0 +1,129 @@
+package tn.esprit.spring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Repositories.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Chaque finder utilisé par les services doit passer par un index: la requête SQL générée
+// par Hibernate est capturée puis passée à EXPLAIN, qui ne doit contenir aucun tableScan.
+@DataJpaTest(properties = {"spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=tn.esprit.spring.IndexExplainTest$Capture"})
+public class IndexExplainTest {
+
+    private static final LocalDate D1 = LocalDate.of(2024, 9, 15);
+    private static final LocalDate D2 = LocalDate.of(2025, 6, 30);
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    @Autowired
+    private ChambreRepository chambreRepository;
+
+    @Autowired
+    private BlocRepository blocRepository;
+
+    @Autowired
+    private FoyerRepository foyerRepository;
+
+    @Autowired
+    private UniversiteRepository universiteRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static class Capture implements StatementInspector {
+        static final List<String> requetes = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            requetes.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        Capture.requetes.clear();
+    }
+
+    @Test
+    void testEtudiantParCin() {
+        etudiantRepository.findByCin(1L);
+        assertIndex(1L);
+    }
+
+    @Test
+    void testEtudiantParNomEtPrenom() {
+        etudiantRepository.getByNomEtAndPrenomEt("Nom", "Prenom");
+        assertIndex("Nom", "Prenom");
+    }
+
+    @Test
+    void testChambreParNumero() {
+        chambreRepository.findByNumeroChambre(1L);
+        assertIndex(1L);
+    }
+
+    @Test
+    void testChambreParTypeEtBloc() {
+        chambreRepository.countByTypeCAndBlocIdBloc(TypeChambre.SIMPLE, 1L);
+        assertIndex("SIMPLE", 1L);
+    }
+
+    @Test
+    void testBlocParNom() {
+        blocRepository.findByNomBloc("Bloc");
+        assertIndex("Bloc");
+    }
+
+    @Test
+    void testFoyerParNom() {
+        foyerRepository.findByNomFoyer("Foyer");
+        assertIndex("Foyer");
+    }
+
+    @Test
+    void testUniversiteParNom() {
+        universiteRepository.findByNomUniversite("Esprit");
+        assertIndex("Esprit");
+    }
+
+    @Test
+    void testReservationsParAnnee() {
+        reservationRepository.countByAnneeUniversitaireBetween(D1, D2);
+        assertIndex(D1, D2);
+    }
+
+    @Test
+    void testReservationsValidesParAnnee() {
+        reservationRepository.findByEstValideAndAnneeUniversitaireBetween(true, D1, D2);
+        assertIndex(true, D1, D2);
+    }
+
+    @Test
+    void testDetectionTableScan() {
+        // Garde-fou: le test doit bien échouer sur une colonne sans index
+        String plan = jdbcTemplate.queryForObject("explain select * from t_etudiant where ecole = ?", String.class, "Esprit");
+        assertTrue(plan.contains("tableScan"), plan);
+    }
+
+    private void assertIndex(Object... parametres) {
+        assertEquals(1, Capture.requetes.size(), Capture.requetes.toString());
+        String sql = Capture.requetes.get(0);
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, parametres);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+}
@@ -0,0 +1,128 @@
+package tn.esprit.spring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Repositories.BlocRepository;
+import tn.esprit.spring.DAO.Repositories.ChambreRepository;
+import tn.esprit.spring.Services.Chambre.BilanInventaire;
+import tn.esprit.spring.Services.Chambre.InventaireChambreService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class InventaireChambreTest {
+
+    private static final int NB_BLOCS = 250;
+
+    @Autowired
+    private BlocRepository blocRepository;
+
+    @Autowired
+    private ChambreRepository chambreRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SimpleMeterRegistry registry;
+    private InventaireChambreService inventaireChambreService;
+
+    @BeforeEach
+    void beforeEach() {
+        List<Object[]> blocs = new ArrayList<>();
+        List<Object[]> chambres = new ArrayList<>();
+        for (int b = 1; b <= NB_BLOCS; b++) {
+            blocs.add(new Object[]{b, "Bloc " + b, 2, null});
+            for (int c = 1; c <= 2; c++) {
+                int id = 2 * (b - 1) + c;
+                chambres.add(new Object[]{id, 1000 + id, TypeChambre.DOUBLE.name(), b});
+            }
+        }
+        JeuDeDonnees.blocs(jdbcTemplate, blocs);
+        JeuDeDonnees.chambres(jdbcTemplate, chambres);
+        registry = new SimpleMeterRegistry();
+        inventaireChambreService = new InventaireChambreService(blocRepository, chambreRepository, registry);
+    }
+
+    @AfterEach
+    void afterEach() {
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testPremierInventaireParPages() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BilanInventaire bilan = inventaireChambreService.inventorier();
+
+        assertEquals(NB_BLOCS, bilan.nbBlocs());
+        assertEquals(2 * NB_BLOCS, bilan.nbChambres());
+        assertEquals(0, bilan.nbAjouts() + bilan.nbModifications() + bilan.nbSuppressions());
+        // Trois pages de blocs (100, 100, 50), deux requêtes par page
+        assertEquals(6, statistics.getPrepareStatementCount());
+        assertEquals(NB_BLOCS, registry.get(InventaireChambreService.GAUGE_BLOCS).gauge().value());
+        assertEquals(2 * NB_BLOCS, registry.get(InventaireChambreService.GAUGE_CHAMBRES).gauge().value());
+    }
+
+    @Test
+    void testSeulsLesChangementsSontComptes() {
+        inventaireChambreService.inventorier();
+        BilanInventaire inchange = inventaireChambreService.inventorier();
+        assertEquals(0, inchange.nbAjouts() + inchange.nbModifications() + inchange.nbSuppressions());
+
+        jdbcTemplate.update("insert into t_chambre (id_chambre, numero_chambre, typec, bloc_id_bloc) values (9999, 9999, 'SIMPLE', 1)");
+        jdbcTemplate.update("update t_chambre set typec = 'TRIPLE' where id_chambre = 1");
+        jdbcTemplate.update("update t_chambre set bloc_id_bloc = 3 where id_chambre = 2");
+        jdbcTemplate.update("update t_bloc set nom_bloc = 'Bloc renommé' where id_bloc = 2");
+        jdbcTemplate.update("delete from t_chambre where id_chambre = 4");
+        BilanInventaire bilan = inventaireChambreService.inventorier();
+
+        assertEquals(1, bilan.nbAjouts());
+        assertEquals(3, bilan.nbModifications());
+        assertEquals(1, bilan.nbSuppressions());
+        assertEquals(2 * NB_BLOCS, bilan.nbChambres());
+        assertEquals(2, registry.get(InventaireChambreService.COMPTEUR_CHANGEMENTS)
+                .tag("element", "chambre").tag("nature", "modification").counter().count());
+        assertEquals(1, registry.get(InventaireChambreService.COMPTEUR_CHANGEMENTS)
+                .tag("element", "bloc").tag("nature", "modification").counter().count());
+    }
+
+    @Test
+    void testExecutionsConcurrentesIgnorees() {
+        BlocRepository lent = mock(BlocRepository.class);
+        AtomicReference<InventaireChambreService> service = new AtomicReference<>();
+        AtomicReference<BilanInventaire> concurrent = new AtomicReference<>();
+        // Un second inventaire lancé pendant la lecture du premier est ignoré
+        when(lent.getBlocsResumeApres(anyLong(), any())).thenAnswer(invocation -> {
+            concurrent.set(service.get().inventorier());
+            return List.of();
+        });
+        service.set(new InventaireChambreService(lent, chambreRepository, new SimpleMeterRegistry()));
+
+        assertNotNull(service.get().inventorier());
+        assertNull(concurrent.get());
+        // Garde relâchée à la fin de l'exécution
+        assertNotNull(service.get().inventorier());
+    }
+}
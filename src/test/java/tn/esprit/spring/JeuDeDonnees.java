@@ -0,0 +1,83 @@
+package tn.esprit.spring;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+import java.util.List;
+
+// Jeu de données des tests d'intégration: insertions JDBC par lots, une ligne Object[] par enregistrement
+// (colonnes dans l'ordre indiqué), et nettoyage de toutes les tables dans l'ordre des clés étrangères
+final class JeuDeDonnees {
+
+    private static final List<String> TABLES = List.of("t_message_sortant", "t_reservation_etudiants",
+            "t_chambre_reservations", "t_reservation", "t_etudiant", "t_chambre", "t_bloc", "t_universite", "t_foyer");
+
+    private JeuDeDonnees() {
+    }
+
+    // (id_foyer, nom_foyer, capacite_foyer)
+    static void foyers(JdbcTemplate jdbcTemplate, List<Object[]> foyers) {
+        jdbcTemplate.batchUpdate("insert into t_foyer (id_foyer, nom_foyer, capacite_foyer) values (?, ?, ?)", foyers);
+    }
+
+    static void foyer(JdbcTemplate jdbcTemplate, long id, String nom, long capacite) {
+        foyers(jdbcTemplate, ligne(id, nom, capacite));
+    }
+
+    // (id_universite, nom_universite, adresse, foyer_id_foyer)
+    static void universites(JdbcTemplate jdbcTemplate, List<Object[]> universites) {
+        jdbcTemplate.batchUpdate("insert into t_universite (id_universite, nom_universite, adresse, foyer_id_foyer) values (?, ?, ?, ?)",
+                universites);
+    }
+
+    static void universite(JdbcTemplate jdbcTemplate, long id, String nom, String adresse, Long idFoyer) {
+        universites(jdbcTemplate, ligne(id, nom, adresse, idFoyer));
+    }
+
+    // (id_bloc, nom_bloc, capacite_bloc, foyer_id_foyer), foyer null pour un bloc non affecté
+    static void blocs(JdbcTemplate jdbcTemplate, List<Object[]> blocs) {
+        jdbcTemplate.batchUpdate("insert into t_bloc (id_bloc, nom_bloc, capacite_bloc, foyer_id_foyer) values (?, ?, ?, ?)", blocs);
+    }
+
+    static void bloc(JdbcTemplate jdbcTemplate, long id, String nom, long capacite, Long idFoyer) {
+        blocs(jdbcTemplate, ligne(id, nom, capacite, idFoyer));
+    }
+
+    // (id_chambre, numero_chambre, typec, bloc_id_bloc)
+    static void chambres(JdbcTemplate jdbcTemplate, List<Object[]> chambres) {
+        jdbcTemplate.batchUpdate("insert into t_chambre (id_chambre, numero_chambre, typec, bloc_id_bloc) values (?, ?, ?, ?)", chambres);
+    }
+
+    // (id_reservation, annee_universitaire, est_valide)
+    static void reservations(JdbcTemplate jdbcTemplate, List<Object[]> reservations) {
+        jdbcTemplate.batchUpdate("insert into t_reservation (id_reservation, annee_universitaire, est_valide) values (?, ?, ?)",
+                reservations);
+    }
+
+    // (chambre_id_chambre, reservations_id_reservation)
+    static void reservationsDesChambres(JdbcTemplate jdbcTemplate, List<Object[]> liens) {
+        jdbcTemplate.batchUpdate("insert into t_chambre_reservations (chambre_id_chambre, reservations_id_reservation) values (?, ?)",
+                liens);
+    }
+
+    // (id_etudiant, cin, nom_et)
+    static void etudiants(JdbcTemplate jdbcTemplate, List<Object[]> etudiants) {
+        jdbcTemplate.batchUpdate("insert into t_etudiant (id_etudiant, cin, nom_et) values (?, ?, ?)", etudiants);
+    }
+
+    // (reservations_id_reservation, etudiants_id_etudiant)
+    static void etudiantsDesReservations(JdbcTemplate jdbcTemplate, List<Object[]> liens) {
+        jdbcTemplate.batchUpdate("insert into t_reservation_etudiants (reservations_id_reservation, etudiants_id_etudiant) values (?, ?)",
+                liens);
+    }
+
+    static void vider(JdbcTemplate jdbcTemplate) {
+        for (String table : TABLES) {
+            jdbcTemplate.update("delete from " + table);
+        }
+    }
+
+    private static List<Object[]> ligne(Object... colonnes) {
+        return Collections.singletonList(colonnes);
+    }
+}
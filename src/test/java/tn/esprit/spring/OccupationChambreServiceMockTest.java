@@ -0,0 +1,138 @@
+package tn.esprit.spring;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import tn.esprit.spring.DAO.Entities.Chambre;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Projections.OccupationChambre;
+import tn.esprit.spring.DAO.Repositories.ChambreRepository;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Chambre.OccupationChambreService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class OccupationChambreServiceMockTest {
+
+    // Une date de l'année universitaire en cours (15/09 -> 30/06)
+    private static final LocalDate DANS_AU = LocalDate.now().getMonthValue() <= 7
+            ? LocalDate.of(LocalDate.now().getYear(), 1, 15)
+            : LocalDate.of(LocalDate.now().getYear(), 10, 15);
+
+    @Mock
+    private ChambreRepository chambreRepository;
+
+    @Spy
+    private AnneeUniversitaireService anneeUniversitaire = new AnneeUniversitaireService(new ParametresAnneeUniversitaire());
+
+    @InjectMocks
+    private OccupationChambreService occupationChambreService;
+
+    @BeforeEach
+    void beforeEach() {
+        when(chambreRepository.countReservationsValidesParChambre(any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(occupation(1L, 2), occupation(2L, 1)));
+        occupationChambreService.charger();
+    }
+
+    @Test
+    @Order(1)
+    void testChargerDepuisBase() {
+        assertEquals(2, occupationChambreService.nbReservations(1L));
+        assertEquals(1, occupationChambreService.nbReservations(2L));
+        assertEquals(0, occupationChambreService.nbReservations(3L));
+        verify(chambreRepository, times(1)).countReservationsValidesParChambre(any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    @Order(2)
+    void testNbPlacesDisponiblesSansRequete() {
+        Chambre chambre = Chambre.builder().idChambre(1L).typeC(TypeChambre.TRIPLE).build();
+
+        assertEquals(1, occupationChambreService.nbPlacesDisponibles(chambre));
+        chambre.setTypeC(TypeChambre.DOUBLE);
+        assertEquals(0, occupationChambreService.nbPlacesDisponibles(chambre));
+        verify(chambreRepository, times(1)).countReservationsValidesParChambre(any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    @Order(3)
+    void testMiseAJourIncrementale() {
+        occupationChambreService.reservationAjoutee(3L, DANS_AU);
+        occupationChambreService.reservationAjoutee(3L, DANS_AU);
+        occupationChambreService.reservationAnnulee(1L, DANS_AU);
+        occupationChambreService.reservationAnnulee(2L, DANS_AU);
+        // Réservation hors année universitaire: ignorée
+        occupationChambreService.reservationAjoutee(3L, DANS_AU.minusYears(2));
+
+        assertEquals(2, occupationChambreService.nbReservations(3L));
+        assertEquals(1, occupationChambreService.nbReservations(1L));
+        assertEquals(0, occupationChambreService.nbReservations(2L));
+
+        occupationChambreService.reservationsAnnulees();
+        assertEquals(0, occupationChambreService.nbReservations(3L));
+    }
+
+    @Test
+    @Order(4)
+    void testReconcilier() {
+        occupationChambreService.reservationAjoutee(1L, DANS_AU);
+        occupationChambreService.reservationAnnulee(2L, DANS_AU);
+        // Chaque écart est recompté en base sous le verrou de la chambre
+        when(chambreRepository.countReservationsValidesDeLaChambre(eq(1L), any(LocalDate.class), any(LocalDate.class))).thenReturn(2L);
+        when(chambreRepository.countReservationsValidesDeLaChambre(eq(2L), any(LocalDate.class), any(LocalDate.class))).thenReturn(1L);
+
+        assertEquals(2, occupationChambreService.reconcilier());
+        assertEquals(2, occupationChambreService.nbReservations(1L));
+        assertEquals(1, occupationChambreService.nbReservations(2L));
+        assertEquals(0, occupationChambreService.reconcilier());
+    }
+
+    @Test
+    @Order(5)
+    void testMisesAJourDefaitesSiTransactionAnnulee() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            occupationChambreService.reservationAjoutee(3L, DANS_AU);
+            occupationChambreService.reservationAnnulee(1L, DANS_AU);
+            assertEquals(1, occupationChambreService.nbReservations(3L));
+            assertEquals(1, occupationChambreService.nbReservations(1L));
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, occupationChambreService.nbReservations(3L));
+        assertEquals(2, occupationChambreService.nbReservations(1L));
+    }
+
+    private static OccupationChambre occupation(long idChambre, long nbReservations) {
+        return new OccupationChambre() {
+            @Override
+            public long getIdChambre() {
+                return idChambre;
+            }
+
+            @Override
+            public long getNbReservations() {
+                return nbReservations;
+            }
+        };
+    }
+}
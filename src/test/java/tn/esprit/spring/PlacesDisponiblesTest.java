@@ -0,0 +1,121 @@
+package tn.esprit.spring;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Chambre.ChambreService;
+import tn.esprit.spring.Services.Chambre.IChambreService;
+import tn.esprit.spring.Services.Chambre.IOccupationChambreService;
+import tn.esprit.spring.Services.Chambre.OccupationChambreService;
+import tn.esprit.spring.Services.Chambre.PlacesDisponibles;
+import tn.esprit.spring.Services.Chambre.StatistiquesChambreService;
+import tn.esprit.spring.Services.PageCurseur;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Places disponibles: une requête par page de chambres, les réservations viennent de l'index d'occupation
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({ChambreService.class, OccupationChambreService.class, StatistiquesChambreService.class,
+        AnneeUniversitaireService.class, ParametresAnneeUniversitaire.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PlacesDisponiblesTest {
+
+    private static final int NB_CHAMBRES = 250;
+
+    @Autowired
+    private IChambreService chambreService;
+
+    @Autowired
+    private IOccupationChambreService occupationChambreService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        LocalDate now = LocalDate.now();
+        LocalDate enCours = LocalDate.of(now.getMonthValue() <= 7 ? now.getYear() - 1 : now.getYear(), 10, 1);
+        JeuDeDonnees.foyer(jdbcTemplate, 1, "Foyer P", 1000);
+        JeuDeDonnees.bloc(jdbcTemplate, 1, "Bloc P", NB_CHAMBRES, 1L);
+        List<Object[]> chambres = new ArrayList<>();
+        List<Object[]> reservations = new ArrayList<>();
+        List<Object[]> liens = new ArrayList<>();
+        for (int c = 1; c <= NB_CHAMBRES; c++) {
+            // Chambres triples, une réservation valide sur les chambres paires
+            chambres.add(new Object[]{c, 100 + c, "TRIPLE", 1});
+            if (c % 2 == 0) {
+                reservations.add(new Object[]{"P-" + c, enCours, true});
+                liens.add(new Object[]{c, "P-" + c});
+            }
+        }
+        JeuDeDonnees.chambres(jdbcTemplate, chambres);
+        JeuDeDonnees.reservations(jdbcTemplate, reservations);
+        JeuDeDonnees.reservationsDesChambres(jdbcTemplate, liens);
+        occupationChambreService.charger();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void afterEach() {
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testParcoursParPages() {
+        List<PlacesDisponibles> toutes = new ArrayList<>();
+        int nbPages = 0;
+        Long curseur = 0L;
+        while (curseur != null) {
+            PageCurseur<PlacesDisponibles> page = chambreService.placesDisponibles(curseur, 100);
+            toutes.addAll(page.contenu());
+            curseur = page.curseurSuivant();
+            nbPages++;
+        }
+
+        assertEquals(3, nbPages);
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(NB_CHAMBRES, toutes.size());
+        assertEquals(new PlacesDisponibles(1, 101, TypeChambre.TRIPLE, 3), toutes.get(0));
+        assertEquals(new PlacesDisponibles(2, 102, TypeChambre.TRIPLE, 2), toutes.get(1));
+    }
+
+    @Test
+    void testIndexMisAJourSansRequete() {
+        occupationChambreService.reservationAjoutee(1L, LocalDate.now());
+        occupationChambreService.reservationAjoutee(1L, LocalDate.now());
+        occupationChambreService.reservationAjoutee(1L, LocalDate.now());
+
+        assertEquals(0, chambreService.placesDisponibles(0, 1).contenu().get(0).nbPlacesDisponibles());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testJournalisationToutesLesChambres() {
+        chambreService.nbPlacesDisponibleParChambreAnneeEnCours();
+
+        // Une seule page de 1000 chambres, aucune requête par chambre
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,132 @@
+package tn.esprit.spring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import tn.esprit.spring.Schedular.PlanificateurMesure;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlanificationTest {
+
+    private ThreadPoolTaskScheduler pool;
+    private SimpleMeterRegistry registry;
+    private MockEnvironment environment;
+    private PlanificateurMesure planificateur;
+
+    public static class Cible {
+        final AtomicInteger executions = new AtomicInteger();
+        final AtomicInteger simultanees = new AtomicInteger();
+        final AtomicInteger maxSimultanees = new AtomicInteger();
+        volatile long dureeMs;
+        volatile boolean echec;
+
+        public void executer() throws InterruptedException {
+            executions.incrementAndGet();
+            maxSimultanees.accumulateAndGet(simultanees.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(dureeMs);
+            } finally {
+                simultanees.decrementAndGet();
+            }
+            if (echec) {
+                throw new IllegalStateException("échec simulé");
+            }
+        }
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        pool = new ThreadPoolTaskScheduler();
+        pool.setPoolSize(2);
+        pool.initialize();
+        registry = new SimpleMeterRegistry();
+        environment = new MockEnvironment();
+        planificateur = new PlanificateurMesure(pool, registry, environment);
+    }
+
+    @AfterEach
+    void afterEach() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testExecutionsMesurees() throws Exception {
+        Cible cible = new Cible();
+        planificateur.scheduleAtFixedRate(tache(cible), Duration.ofMillis(20));
+
+        attendre(() -> compte(PlanificateurMesure.TIMER_EXECUTION, "issue", "succes") >= 3);
+
+        assertEquals("Cible.executer", PlanificateurMesure.nom(tache(cible)));
+        assertTrue(registry.get(PlanificateurMesure.TIMER_RETARD).tag("tache", "Cible.executer").timer().count() >= 3);
+        assertEquals(0, registry.get(PlanificateurMesure.COMPTEUR_DEPASSEMENTS).tag("tache", "Cible.executer").counter().count());
+    }
+
+    @Test
+    void testDepassementEtEchec() throws Exception {
+        Cible cible = new Cible();
+        cible.dureeMs = 60;
+        cible.echec = true;
+        planificateur.scheduleAtFixedRate(tache(cible), Duration.ofMillis(20));
+
+        attendre(() -> registry.get(PlanificateurMesure.COMPTEUR_DEPASSEMENTS).tag("tache", "Cible.executer").counter().count() >= 1);
+
+        assertTrue(compte(PlanificateurMesure.TIMER_EXECUTION, "issue", "erreur") >= 1);
+        assertEquals(0, compte(PlanificateurMesure.TIMER_EXECUTION, "issue", "succes"));
+    }
+
+    @Test
+    void testTacheDesactiveeParPropriete() throws Exception {
+        environment.setProperty("foyer.planification.taches.Cible.executer.active", "false");
+        Cible cible = new Cible();
+        planificateur.scheduleWithFixedDelay(tache(cible), Duration.ofMillis(10));
+
+        attendre(() -> ignorees("desactivee") >= 2);
+        assertEquals(0, cible.executions.get());
+
+        // Réactivée sans replanifier
+        environment.setProperty("foyer.planification.taches.Cible.executer.active", "true");
+        attendre(() -> cible.executions.get() >= 1);
+    }
+
+    @Test
+    void testExecutionEnCoursNonDoublee() throws Exception {
+        // Même méthode planifiée deux fois (cadence et cron): jamais deux exécutions simultanées
+        Cible cible = new Cible();
+        cible.dureeMs = 300;
+        planificateur.scheduleAtFixedRate(tache(cible), Duration.ofMillis(50));
+        planificateur.schedule(tache(cible), new CronTrigger("* * * * * *"));
+
+        attendre(() -> ignorees("en_cours") >= 1);
+        assertEquals(1, cible.maxSimultanees.get());
+    }
+
+    private static ScheduledMethodRunnable tache(Cible cible) throws NoSuchMethodException {
+        return new ScheduledMethodRunnable(cible, Cible.class.getMethod("executer"));
+    }
+
+    private double compte(String nom, String tag, String valeur) {
+        return registry.get(nom).tag("tache", "Cible.executer").tag(tag, valeur).timer().count();
+    }
+
+    private double ignorees(String raison) {
+        return registry.get(PlanificateurMesure.COMPTEUR_IGNOREES).tag("tache", "Cible.executer").tag("raison", raison).counter().count();
+    }
+
+    private static void attendre(BooleanSupplier condition) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < limite, "Condition non atteinte");
+            Thread.sleep(10);
+        }
+    }
+}
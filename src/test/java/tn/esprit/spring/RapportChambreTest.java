@@ -0,0 +1,150 @@
+package tn.esprit.spring;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Repositories.ChambreRepository;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Chambre.RapportChambreService;
+import tn.esprit.spring.Services.Chambre.RapportRepartition;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RapportChambreTest {
+
+    @Autowired
+    private ChambreRepository chambreRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SimpleMeterRegistry registry;
+    private RapportChambreService rapportChambreService;
+
+    @BeforeEach
+    void beforeEach() {
+        registry = new SimpleMeterRegistry();
+        rapportChambreService = new RapportChambreService(chambreRepository,
+                new AnneeUniversitaireService(new ParametresAnneeUniversitaire()), registry);
+    }
+
+    @AfterEach
+    void afterEach() {
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testTableVide() {
+        RapportRepartition rapport = rapportChambreService.rafraichir();
+
+        assertEquals(0, rapport.nbChambres());
+        assertEquals(0.0, rapport.tauxOccupation());
+        rapport.pourcentageParType().values().forEach(p -> assertEquals(0.0, p));
+        assertTrue(rapport.lignes().isEmpty());
+    }
+
+    @Test
+    void testRapportEnUneRequete() {
+        inserer();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        RapportRepartition rapport = rapportChambreService.rafraichir();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(4, rapport.nbChambres());
+        // 2 simples + 1 double (foyer A), 1 triple (foyer B)
+        assertEquals(7, rapport.nbPlaces());
+        assertEquals(50.0, rapport.pourcentageParType().get(TypeChambre.SIMPLE));
+        assertEquals(List.of(TypeChambre.SIMPLE, TypeChambre.DOUBLE, TypeChambre.TRIPLE),
+                rapport.lignes().stream().map(RapportRepartition.Ligne::typeC).toList());
+        // Seules les réservations valides de l'année en cours comptent
+        RapportRepartition.Ligne doubles = rapport.lignes().get(1);
+        assertEquals(2, doubles.nbPlaces());
+        assertEquals(1, doubles.nbPlacesOccupees());
+        assertEquals(0.5, doubles.tauxOccupation());
+        assertEquals(2, rapport.nbPlacesOccupees());
+
+        // Le rapport en mémoire est servi sans requête
+        statistics.clear();
+        assertSame(rapport, rapportChambreService.rapport());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGauges() {
+        inserer();
+        rapportChambreService.rafraichir();
+
+        assertEquals(2.0, gauge(RapportChambreService.GAUGE_CHAMBRES, "Foyer A", TypeChambre.SIMPLE));
+        assertEquals(1.0, gauge(RapportChambreService.GAUGE_PLACES_OCCUPEES, "Foyer B", TypeChambre.TRIPLE));
+        assertEquals(1.0 / 3, gauge(RapportChambreService.GAUGE_OCCUPATION, "Foyer B", TypeChambre.TRIPLE), 1e-9);
+
+        // Chambres supprimées: leurs séries disparaissent au calcul suivant
+        jdbcTemplate.update("delete from t_chambre_reservations");
+        jdbcTemplate.update("delete from t_chambre where bloc_id_bloc = 2");
+        rapportChambreService.rafraichir();
+        assertNull(registry.find(RapportChambreService.GAUGE_CHAMBRES).tags("foyer", "Foyer B").gauge());
+    }
+
+    @Test
+    void testChambresSansBlocEtSansType() {
+        inserer();
+        // Une double sans bloc, une chambre du bloc A sans type
+        JeuDeDonnees.chambres(jdbcTemplate, List.of(new Object[]{5, 501, "DOUBLE", null}, new Object[]{6, 104, null, 1}));
+
+        RapportRepartition rapport = assertDoesNotThrow(() -> rapportChambreService.rafraichir());
+
+        assertEquals(6, rapport.nbChambres());
+        assertEquals(9, rapport.nbPlaces());
+        RapportRepartition.Ligne sansBloc = rapport.lignes().get(rapport.lignes().size() - 1);
+        assertNull(sansBloc.idBloc());
+        assertEquals(TypeChambre.DOUBLE, sansBloc.typeC());
+        assertEquals(2, sansBloc.nbPlaces());
+        RapportRepartition.Ligne sansType = rapport.lignes().stream().filter(l -> l.typeC() == null).findFirst().orElseThrow();
+        assertEquals(1L, sansType.idBloc());
+        assertEquals(0, sansType.nbPlaces());
+        assertEquals(1.0, registry.get(RapportChambreService.GAUGE_CHAMBRES)
+                .tags(Tags.of("foyer", "aucun", "type", TypeChambre.DOUBLE.name())).gauge().value());
+        assertEquals(1.0, registry.get(RapportChambreService.GAUGE_CHAMBRES)
+                .tags(Tags.of("foyer", "Foyer A", "type", "aucun")).gauge().value());
+    }
+
+    private double gauge(String nom, String foyer, TypeChambre type) {
+        return registry.get(nom).tags(Tags.of("foyer", foyer, "type", type.name())).gauge().value();
+    }
+
+    private void inserer() {
+        LocalDate now = LocalDate.now();
+        int year = now.getMonthValue() <= 7 ? now.getYear() - 1 : now.getYear();
+        LocalDate enCours = LocalDate.of(year, 10, 1);
+        JeuDeDonnees.foyers(jdbcTemplate, List.of(new Object[]{1, "Foyer A", 100}, new Object[]{2, "Foyer B", 100}));
+        JeuDeDonnees.blocs(jdbcTemplate, List.of(new Object[]{1, "Bloc A", 10, 1}, new Object[]{2, "Bloc B", 10, 2}));
+        JeuDeDonnees.chambres(jdbcTemplate, List.of(new Object[]{1, 101, "SIMPLE", 1}, new Object[]{2, 102, "SIMPLE", 1},
+                new Object[]{3, 103, "DOUBLE", 1}, new Object[]{4, 201, "TRIPLE", 2}));
+        JeuDeDonnees.reservations(jdbcTemplate, List.of(new Object[]{"R1", enCours, true}, new Object[]{"R2", enCours, false},
+                new Object[]{"R3", enCours.minusYears(1), true}, new Object[]{"R4", enCours, true}));
+        JeuDeDonnees.reservationsDesChambres(jdbcTemplate,
+                List.of(new Object[]{3, "R1"}, new Object[]{3, "R2"}, new Object[]{3, "R3"}, new Object[]{4, "R4"}));
+    }
+}
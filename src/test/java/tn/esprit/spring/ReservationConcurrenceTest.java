@@ -0,0 +1,215 @@
+package tn.esprit.spring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.spring.DAO.Entities.Reservation;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Chambre.OccupationChambreService;
+import tn.esprit.spring.Services.Notification.BoiteEnvoiService;
+import tn.esprit.spring.Services.Reservation.IReservationService;
+import tn.esprit.spring.Services.Reservation.ReservationService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({ReservationService.class, OccupationChambreService.class, AnneeUniversitaireService.class,
+        ParametresAnneeUniversitaire.class, BoiteEnvoiService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReservationConcurrenceTest {
+
+    private static final int NB_CHAMBRES = 30;
+    private static final int NB_ETUDIANTS = Integer.getInteger("foyer.test.reservations", 1000);
+    private static final int NB_THREADS = 16;
+
+    @Autowired
+    private IReservationService reservationService;
+
+    @Autowired
+    private OccupationChambreService occupationChambreService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void beforeEach() {
+        JeuDeDonnees.bloc(jdbcTemplate, 1, "Bloc C", NB_CHAMBRES, null);
+        TypeChambre[] types = TypeChambre.values();
+        List<Object[]> chambres = new ArrayList<>();
+        for (int c = 1; c <= NB_CHAMBRES; c++) {
+            chambres.add(new Object[]{c, 100 + c, types[c % types.length].name(), 1});
+        }
+        JeuDeDonnees.chambres(jdbcTemplate, chambres);
+        List<Object[]> etudiants = new ArrayList<>();
+        for (int e = 1; e <= NB_ETUDIANTS; e++) {
+            etudiants.add(new Object[]{e, 10_000_000L + e, "Etudiant" + e});
+        }
+        JeuDeDonnees.etudiants(jdbcTemplate, etudiants);
+        occupationChambreService.charger();
+    }
+
+    @AfterEach
+    void afterEach() {
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testReservationsConcurrentesSansSurreservation() throws Exception {
+        tempete(null);
+    }
+
+    @Test
+    void testReconciliationPendantLesReservations() throws Exception {
+        // Réconciliations et rechargements en boucle pendant les réservations: aucun ne doit effacer
+        // une place prise entre sa lecture de la base et la mise à jour de l'index
+        AtomicInteger passages = new AtomicInteger();
+        tempete(() -> {
+            if (passages.incrementAndGet() % 5 == 0) {
+                occupationChambreService.charger();
+            } else {
+                occupationChambreService.reconcilier();
+            }
+        });
+        assertTrue(passages.get() > 0);
+    }
+
+    @Test
+    void testReservationNonValideeConserveeParLaReconciliation() throws Exception {
+        ExecutorService autre = Executors.newSingleThreadExecutor();
+        long idChambre = 1;
+        new TransactionTemplate(transactionManager).executeWithoutResult(statut -> {
+            assertNotNull(reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(101L, 10_000_001L));
+            // La base ne montre pas encore la réservation: ni la réconciliation ni le rechargement ne l'effacent
+            try {
+                assertEquals(0, autre.submit(occupationChambreService::reconcilier).get(1, TimeUnit.MINUTES));
+                autre.submit(occupationChambreService::charger).get(1, TimeUnit.MINUTES);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            assertEquals(1, occupationChambreService.nbReservations(idChambre));
+        });
+        autre.shutdown();
+        assertEquals(0, occupationChambreService.reconcilier());
+        assertEquals(1, occupationChambreService.nbReservations(idChambre));
+    }
+
+    @Test
+    void testIndexRetabliSiTransactionAnnulee() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(statut -> {
+            assertNotNull(reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(101L, 10_000_001L));
+            statut.setRollbackOnly();
+        });
+        assertEquals(0, occupationChambreService.nbReservations(1L));
+
+        assertNotNull(reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(101L, 10_000_001L));
+        transaction.executeWithoutResult(statut -> {
+            reservationService.annulerReservation(10_000_001L);
+            assertEquals(0, occupationChambreService.nbReservations(1L));
+            statut.setRollbackOnly();
+        });
+        assertEquals(1, occupationChambreService.nbReservations(1L));
+        assertEquals(0, occupationChambreService.reconcilier());
+    }
+
+    @Test
+    void testReservationInvalideeReactivee() {
+        Reservation premiere = reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(101L, 10_000_001L);
+        // Annulation de fin d'année: la ligne reste, invalidée, avec le même id
+        jdbcTemplate.update("update t_reservation set est_valide = false");
+        occupationChambreService.charger();
+        assertEquals(0, occupationChambreService.nbReservations(1L));
+
+        Reservation reactivee = reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(101L, 10_000_001L);
+
+        assertNotNull(reactivee);
+        assertEquals(premiere.getIdReservation(), reactivee.getIdReservation());
+        assertTrue(reactivee.isEstValide());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from t_reservation where est_valide = true", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from t_chambre_reservations", Integer.class));
+        assertEquals(1, occupationChambreService.nbReservations(1L));
+        assertEquals(0, occupationChambreService.reconcilier());
+    }
+
+    private void tempete(Runnable pendant) throws Exception {
+        Random random = new Random(7);
+        AtomicInteger acceptees = new AtomicInteger();
+        AtomicInteger refusees = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(NB_THREADS + 1);
+        CountDownLatch depart = new CountDownLatch(1);
+        AtomicBoolean termine = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int e = 1; e <= NB_ETUDIANTS; e++) {
+            long numChambre = 101 + random.nextInt(NB_CHAMBRES);
+            long cin = 10_000_000L + e;
+            futures.add(executor.submit(() -> {
+                depart.await();
+                if (reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(numChambre, cin) != null) {
+                    acceptees.incrementAndGet();
+                } else {
+                    refusees.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        Future<?> tache = pendant == null ? null : executor.submit(() -> {
+            depart.await();
+            while (!termine.get()) {
+                pendant.run();
+            }
+            return null;
+        });
+
+        long debut = System.nanoTime();
+        depart.countDown();
+        for (Future<?> f : futures) {
+            f.get(2, TimeUnit.MINUTES);
+        }
+        long duree = System.nanoTime() - debut;
+        termine.set(true);
+        if (tache != null) {
+            tache.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        // Aucune chambre ne dépasse la capacité de son type
+        int capaciteTotale = 0;
+        for (Map<String, Object> ligne : jdbcTemplate.queryForList(
+                "select c.typec as type, count(cr.reservations_id_reservation) as nb from t_chambre c " +
+                        "left join t_chambre_reservations cr on cr.chambre_id_chambre = c.id_chambre group by c.id_chambre, c.typec")) {
+            int capacite = TypeChambre.valueOf((String) ligne.get("type")).getCapacite();
+            assertTrue(((Number) ligne.get("nb")).intValue() <= capacite, "Surréservation: " + ligne);
+            capaciteTotale += capacite;
+        }
+        assertEquals(capaciteTotale, acceptees.get());
+        // Aucune réservation acceptée n'est perdue
+        assertEquals(acceptees.get(), jdbcTemplate.queryForObject("select count(*) from t_chambre_reservations", Integer.class));
+        assertEquals(NB_ETUDIANTS - capaciteTotale, refusees.get());
+        assertEquals(0, occupationChambreService.reconcilier());
+
+        long debit = Math.round(NB_ETUDIANTS * 1e9 / duree);
+        log.info("{} réservations concurrentes ({} threads) en {} ms: {} req/s, {} acceptées",
+                NB_ETUDIANTS, NB_THREADS, duree / 1_000_000, debit, acceptees.get());
+    }
+}
@@ -8,6 +8,7 @@ import tn.esprit.spring.Services.Reservation.IReservationService;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -191,8 +192,8 @@ public class ReservationServiceTest {
         String idRes = "RES003";
         long idChambre = 101L;
 
-        // When & Then - should not throw exception
-        assertDoesNotThrow(() -> reservationService.affectReservationAChambre(idRes, idChambre));
+        // When & Then - le service est réellement exécuté: réservation introuvable
+        assertThrows(NoSuchElementException.class, () -> reservationService.affectReservationAChambre(idRes, idChambre));
     }
 
     @Test
@@ -202,8 +203,8 @@ public class ReservationServiceTest {
         String idRes = "RES003";
         long idChambre = 101L;
 
-        // When & Then - should not throw exception
-        assertDoesNotThrow(() -> reservationService.deaffectReservationAChambre(idRes, idChambre));
+        // When & Then - le service est réellement exécuté: réservation introuvable
+        assertThrows(NoSuchElementException.class, () -> reservationService.deaffectReservationAChambre(idRes, idChambre));
     }
 
     @Test
@@ -0,0 +1,144 @@
+package tn.esprit.spring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import tn.esprit.spring.DAO.Entities.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Les migrations Flyway doivent produire exactement le schéma attendu par les entités:
+// le contexte démarre ici avec ddl-auto=validate et le dialecte MySQL, sur une base H2 en mode MySQL.
+@Slf4j
+@DataJpaTest(properties = {"spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.dialect=" + SchemaMigrationTest.DIALECTE,
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class SchemaMigrationTest {
+
+    static final String DIALECTE = "org.hibernate.dialect.MySQLDialect";
+
+    private static final Class<?>[] ENTITES = {Bloc.class, Chambre.class, Etudiant.class,
+            Foyer.class, Reservation.class, Universite.class, MessageSortant.class};
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testMigrationsAppliquees() {
+        MigrationInfo[] appliquees = flyway.info().applied();
+        assertEquals(List.of("1", "2", "3", "4"), Arrays.stream(appliquees).map(m -> m.getVersion().getVersion()).toList());
+        List<String> index = jdbcTemplate.queryForList(
+                "select index_name from information_schema.indexes where table_name = 't_reservation'", String.class);
+        assertTrue(index.contains("idx_reservation_valide_annee"), index.toString());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from information_schema.indexes " +
+                "where table_name = 't_etudiant' and index_name = 'uk_etudiant_cin' and index_type_name = 'UNIQUE INDEX'", Integer.class));
+    }
+
+    @Test
+    void testBaseExistante() throws Exception {
+        // Base créée par l'ancien ddl-auto=update: marquée en V1, les migrations suivantes sont appliquées
+        DataSource dataSource = h2("existante");
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__schema_initial.sql"));
+        }
+        Flyway existante = Flyway.configure().dataSource(dataSource)
+                .baselineOnMigrate(true).baselineVersion("1").load();
+
+        assertEquals(3, existante.migrate().migrationsExecuted);
+        assertEquals("4", existante.info().current().getVersion().getVersion());
+        StandardServiceRegistry registry = registry(dataSource, DIALECTE);
+        try {
+            schema("validate", metadata(registry), registry);
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    @Test
+    void testDureeValidateContreUpdate() {
+        // Phase schéma du démarrage: ddl-auto=update relit et compare tout le schéma (index et
+        // clés étrangères compris), validate se limite aux tables et colonnes mappées.
+        // Schéma créé par Hibernate lui-même (dialecte H2) pour que update n'ait rien à modifier.
+        DataSource dataSource = h2("demarrage");
+        StandardServiceRegistry registry = registry(dataSource, "org.hibernate.dialect.H2Dialect");
+        try {
+            Metadata metadata = metadata(registry);
+            schema("create", metadata, registry);
+            int iterations = 20;
+            for (int i = 0; i < 3; i++) {
+                schema("validate", metadata, registry);
+                schema("update", metadata, registry);
+            }
+            long debut = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                schema("validate", metadata, registry);
+            }
+            long validate = (System.nanoTime() - debut) / iterations;
+            debut = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                schema("update", metadata, registry);
+            }
+            long update = (System.nanoTime() - debut) / iterations;
+            log.info("Phase schéma au démarrage (H2): validate {} µs, update {} µs", validate / 1_000, update / 1_000);
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    // Même traitement que spring.jpa.hibernate.ddl-auto au démarrage
+    private void schema(String action, Metadata metadata, StandardServiceRegistry registry) {
+        SchemaManagementToolCoordinator.process(metadata, registry,
+                Map.of(AvailableSettings.HBM2DDL_AUTO, action), dropAction -> { });
+    }
+
+    private DataSource h2(String nom) {
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nom + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private StandardServiceRegistry registry(DataSource dataSource, String dialecte) {
+        return new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DATASOURCE, dataSource)
+                .applySetting(AvailableSettings.DIALECT, dialecte)
+                .build();
+    }
+
+    private Metadata metadata(StandardServiceRegistry registry) {
+        MetadataSources sources = new MetadataSources(registry);
+        for (Class<?> entite : ENTITES) {
+            sources.addAnnotatedClass(entite);
+        }
+        return sources.getMetadataBuilder()
+                .applyPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .applyImplicitNamingStrategy(new SpringImplicitNamingStrategy())
+                .build();
+    }
+}
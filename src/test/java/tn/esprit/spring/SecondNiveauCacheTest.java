@@ -0,0 +1,195 @@
+package tn.esprit.spring;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.HibernateMetrics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.Chambre;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.DAO.Repositories.ChambreRepository;
+import tn.esprit.spring.DAO.Repositories.EtudiantRepository;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Chambre.OccupationChambreService;
+import tn.esprit.spring.Services.Notification.BoiteEnvoiService;
+import tn.esprit.spring.Services.Reservation.IReservationService;
+import tn.esprit.spring.Services.Reservation.ReservationService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Cache de second niveau activé comme en production: une fois les chambres, blocs, foyers et universités
+// chargés, une réservation ne relit plus leurs tables (seuls étudiants et réservations sont interrogés).
+@DataJpaTest(properties = {"spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=tn.esprit.spring.SecondNiveauCacheTest$Capture",
+        // Dates propres à l'université: la période de la réservation se lit via chambre -> bloc -> foyer -> université
+        "foyer.annee-universitaire.universites.[Esprit].debut=09-01",
+        "foyer.annee-universitaire.universites.[Esprit].fin=06-15"})
+@Import({ReservationService.class, OccupationChambreService.class, AnneeUniversitaireService.class,
+        ParametresAnneeUniversitaire.class, BoiteEnvoiService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondNiveauCacheTest {
+
+    private static final Pattern REFERENCE = Pattern.compile("(?i)\\b(t_chambre|t_bloc|t_foyer|t_universite)\\b");
+    // Côté inverse du @OneToOne Foyer.universite: Hibernate le résout toujours par requête (index unique sur foyer_id_foyer)
+    private static final Pattern UNIVERSITE_DU_FOYER = Pattern.compile("(?i)^select .* from t_universite \\w+ .*where \\w+\\.foyer_id_foyer=\\?$");
+    private static final int NB_CHAMBRES = 3;
+
+    @Autowired
+    private IReservationService reservationService;
+
+    @Autowired
+    private OccupationChambreService occupationChambreService;
+
+    @Autowired
+    private ChambreRepository chambreRepository;
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static class Capture implements StatementInspector {
+        static final List<String> requetes = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            requetes.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        // Base alimentée par JDBC, à l'insu du cache
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        JeuDeDonnees.foyer(jdbcTemplate, 1, "Foyer A", 100);
+        JeuDeDonnees.universite(jdbcTemplate, 1, "Esprit", "Tunis", 1L);
+        JeuDeDonnees.bloc(jdbcTemplate, 1, "Bloc A", 10, 1L);
+        List<Object[]> chambres = new ArrayList<>();
+        for (int c = 1; c <= NB_CHAMBRES; c++) {
+            chambres.add(new Object[]{c, 100 + c, TypeChambre.TRIPLE.name(), 1});
+        }
+        JeuDeDonnees.chambres(jdbcTemplate, chambres);
+        List<Object[]> etudiants = new ArrayList<>();
+        for (int e = 1; e <= 3 * NB_CHAMBRES; e++) {
+            etudiants.add(new Object[]{e, 10_000_000L + e, "Etudiant" + e});
+        }
+        JeuDeDonnees.etudiants(jdbcTemplate, etudiants);
+        occupationChambreService.charger();
+        statistiques().clear();
+        Capture.requetes.clear();
+    }
+
+    @AfterEach
+    void afterEach() {
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testReservationSansRequeteSurLesDonneesDeReference() {
+        // Préchauffage: une réservation par chambre
+        for (int c = 1; c <= NB_CHAMBRES; c++) {
+            assertNotNull(reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(100L + c, 10_000_000L + c));
+        }
+        assertTrue(Capture.requetes.stream().anyMatch(sql -> REFERENCE.matcher(sql).find()));
+        Capture.requetes.clear();
+
+        for (int c = 1; c <= NB_CHAMBRES; c++) {
+            assertNotNull(reservationService.ajouterReservationEtAssignerAChambreEtAEtudiant(100L + c, 10_000_000L + NB_CHAMBRES + c));
+        }
+
+        assertFalse(Capture.requetes.isEmpty());
+        List<String> reference = Capture.requetes.stream().filter(sql -> REFERENCE.matcher(sql).find()).toList();
+        assertTrue(reference.stream().allMatch(sql -> UNIVERSITE_DU_FOYER.matcher(sql).matches()), reference.toString());
+        assertTrue(reference.size() <= NB_CHAMBRES, reference.toString());
+        assertEquals(2 * NB_CHAMBRES, jdbcTemplate.queryForObject("select count(*) from t_chambre_reservations", Integer.class));
+    }
+
+    @Test
+    void testMetriquesSuccesEtEchecs() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "foyer", Tags.empty()).bindTo(registry);
+
+        chambreRepository.findByNumeroChambre(101L);
+        chambreRepository.findByNumeroChambre(101L);
+
+        assertEquals(1, registry.get("hibernate.cache.query.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("hibernate.cache.query.requests").tag("result", "hit").functionCounter().count());
+        // Le cache de requêtes conserve les colonnes de la chambre, son bloc est relu dans la région "bloc"
+        assertEquals(1, registry.get("hibernate.second.level.cache.requests")
+                .tag("region", "bloc").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testModificationVisibleMalgreLeCache() {
+        Chambre chambre = chambreRepository.findByNumeroChambre(101L);
+        assertNull(chambreRepository.findByNumeroChambre(200L));
+        assertEquals(TypeChambre.TRIPLE, chambreRepository.findByNumeroChambre(101L).getTypeC());
+
+        chambre.setTypeC(TypeChambre.SIMPLE);
+        chambreRepository.save(chambre);
+        jdbcTemplate.execute("alter table t_chambre alter column id_chambre restart with 1000");
+        chambreRepository.save(Chambre.builder().numeroChambre(200L).typeC(TypeChambre.DOUBLE).build());
+
+        assertEquals(TypeChambre.SIMPLE, chambreRepository.findByNumeroChambre(101L).getTypeC());
+        // L'insertion invalide le résultat vide mis en cache pour le numéro 200
+        assertNotNull(chambreRepository.findByNumeroChambre(200L));
+    }
+
+    @Test
+    void testIdentifiantsNaturels() {
+        assertEquals(101L, chambreRepository.chargerParNumero(101L).getNumeroChambre());
+        assertEquals(10_000_001L, etudiantRepository.chargerParCin(10_000_001L).getCin());
+        Capture.requetes.clear();
+
+        // Chambre: numéro et entité en cache, seule l'université du foyer est relue
+        assertEquals(1L, chambreRepository.chargerParNumero(101L).getIdChambre());
+        assertTrue(Capture.requetes.stream().allMatch(sql -> UNIVERSITE_DU_FOYER.matcher(sql).matches()), Capture.requetes.toString());
+        Capture.requetes.clear();
+        // Etudiant: cin -> id en cache, seule la lecture par clé primaire reste
+        assertEquals(1L, etudiantRepository.chargerParCin(10_000_001L).getIdEtudiant());
+        assertEquals(1, Capture.requetes.size(), Capture.requetes.toString());
+        assertTrue(Capture.requetes.get(0).matches("(?i).* from t_etudiant \\w+ where \\w+\\.id_etudiant=\\?"), Capture.requetes.toString());
+        assertEquals(2, statistiques().getNaturalIdCacheHitCount());
+        assertNull(chambreRepository.chargerParNumero(999L));
+    }
+
+    @Test
+    void testRenumerotationChambre() {
+        Chambre chambre = chambreRepository.chargerParNumero(101L);
+        chambre.setNumeroChambre(150L);
+        chambreRepository.save(chambre);
+
+        assertNull(chambreRepository.chargerParNumero(101L));
+        assertEquals(1L, chambreRepository.chargerParNumero(150L).getIdChambre());
+    }
+
+    private Statistics statistiques() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,137 @@
+package tn.esprit.spring;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.Chambre;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Bloc.BlocService;
+import tn.esprit.spring.Services.Bloc.IBlocService;
+import tn.esprit.spring.Services.Chambre.ChambreService;
+import tn.esprit.spring.Services.Chambre.IChambreService;
+import tn.esprit.spring.Services.Chambre.IStatistiquesChambreService;
+import tn.esprit.spring.Services.Chambre.OccupationChambreService;
+import tn.esprit.spring.Services.Chambre.StatistiquesChambreService;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statistiques par type: une requête group by, puis le cache jusqu'à la prochaine écriture de chambre
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({BlocService.class, ChambreService.class, OccupationChambreService.class, StatistiquesChambreService.class,
+        StatistiquesChambreTest.Cache.class, AnneeUniversitaireService.class, ParametresAnneeUniversitaire.class})
+@AutoConfigureCache(cacheProvider = CacheType.SIMPLE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StatistiquesChambreTest {
+
+    @TestConfiguration
+    @EnableCaching
+    static class Cache {
+    }
+
+    @Autowired
+    private IStatistiquesChambreService statistiquesChambreService;
+
+    @Autowired
+    private IChambreService chambreService;
+
+    @Autowired
+    private IBlocService blocService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        JeuDeDonnees.foyer(jdbcTemplate, 1, "Foyer S", 100);
+        JeuDeDonnees.blocs(jdbcTemplate,
+                List.of(new Object[]{1, "Bloc S1", 10, 1}, new Object[]{2, "Bloc S2", 10, 1}, new Object[]{3, "Bloc S3", 10, 1}));
+        JeuDeDonnees.chambres(jdbcTemplate,
+                List.of(new Object[]{1, 101, "SIMPLE", 1}, new Object[]{2, 102, "SIMPLE", 1}, new Object[]{3, 103, "DOUBLE", 1},
+                        new Object[]{4, 201, "TRIPLE", 2}));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void afterEach() {
+        cacheManager.getCache(StatistiquesChambreService.CACHE).clear();
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testParTypeDUnBloc() {
+        assertEquals(Map.of(TypeChambre.SIMPLE, 2L, TypeChambre.DOUBLE, 1L, TypeChambre.TRIPLE, 0L),
+                statistiquesChambreService.nbChambresParType(1L));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, chambreService.nbChambreParTypeEtBloc(TypeChambre.SIMPLE, 1L));
+        assertEquals(0, chambreService.nbChambreParTypeEtBloc(TypeChambre.SIMPLE, 99L));
+    }
+
+    @Test
+    void testParTypeDeTousLesBlocs() {
+        Map<Long, Map<TypeChambre, Long>> parBloc = statistiquesChambreService.nbChambresParTypeEtBloc();
+
+        assertEquals(List.of(1L, 2L, 3L), List.copyOf(parBloc.keySet()));
+        assertEquals(1L, parBloc.get(2L).get(TypeChambre.TRIPLE));
+        // Bloc sans chambre: tous les types à 0
+        assertEquals(Map.of(TypeChambre.SIMPLE, 0L, TypeChambre.DOUBLE, 0L, TypeChambre.TRIPLE, 0L), parBloc.get(3L));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testParTypeAvecChambresSansBloc() {
+        JeuDeDonnees.chambres(jdbcTemplate, List.of(new Object[]{5, 501, "DOUBLE", null}, new Object[]{6, 502, "TRIPLE", null}));
+
+        // Les chambres sans bloc comptent dans le total, pas dans la répartition par bloc
+        assertEquals(Map.of(TypeChambre.SIMPLE, 2L, TypeChambre.DOUBLE, 2L, TypeChambre.TRIPLE, 2L),
+                statistiquesChambreService.nbChambresParType());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(4L, statistiquesChambreService.nbChambresParTypeEtBloc().values().stream()
+                .flatMap(types -> types.values().stream()).mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void testCacheVideParLesEcrituresDeChambres() {
+        statistiquesChambreService.nbChambresParType(1L);
+        statistiquesChambreService.nbChambresParTypeEtBloc();
+        statistiquesChambreService.nbChambresParType(1L);
+        statistiquesChambreService.nbChambresParTypeEtBloc();
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        Chambre chambre = chambreService.findById(4L);
+        chambre.setTypeC(TypeChambre.DOUBLE);
+        chambreService.addOrUpdate(chambre);
+        assertEquals(1L, statistiquesChambreService.nbChambresParType(2L).get(TypeChambre.DOUBLE));
+
+        blocService.affecterChambresABloc(List.of(101L), "Bloc S3");
+        assertEquals(1L, statistiquesChambreService.nbChambresParType(1L).get(TypeChambre.SIMPLE));
+        assertEquals(1L, statistiquesChambreService.nbChambresParTypeEtBloc().get(3L).get(TypeChambre.SIMPLE));
+    }
+}
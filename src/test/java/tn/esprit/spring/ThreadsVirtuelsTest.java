@@ -0,0 +1,46 @@
+package tn.esprit.spring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.core.task.AsyncTaskExecutor;
+import tn.esprit.spring.Config.VirtualThreadsConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThreadsVirtuelsTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsConfig.class);
+
+    @Test
+    void testDesactiveParDefaut() {
+        runner.run(contexte -> {
+            assertFalse(contexte.containsBean("applicationTaskExecutor"));
+            assertEquals(0, contexte.getBeanNamesForType(TomcatProtocolHandlerCustomizer.class).length);
+            assertEquals(0, contexte.getBeanNamesForType(TaskSchedulerCustomizer.class).length);
+        });
+    }
+
+    @Test
+    void testActive() {
+        List<ExecutorService> executeurs = new ArrayList<>();
+        runner.withPropertyValues("foyer.threads.virtuels.enabled=true").run(contexte -> {
+            Thread[] thread = new Thread[1];
+            contexte.getBean("applicationTaskExecutor", AsyncTaskExecutor.class)
+                    .submit(() -> thread[0] = Thread.currentThread()).get(5, TimeUnit.SECONDS);
+            assertTrue(thread[0].isVirtual());
+            assertTrue(thread[0].getName().startsWith("async-"));
+            executeurs.addAll(contexte.getBeansOfType(ExecutorService.class).values());
+        });
+        // Fermés avec le contexte
+        assertEquals(2, executeurs.size());
+        executeurs.forEach(e -> assertTrue(e.isShutdown()));
+    }
+}
@@ -0,0 +1,199 @@
+package tn.esprit.spring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.DAO.Entities.TypeChambre;
+import tn.esprit.spring.RestControllers.BlocRestController;
+import tn.esprit.spring.RestControllers.ChambreRestController;
+import tn.esprit.spring.RestControllers.ExportNdjson;
+import tn.esprit.spring.RestControllers.FoyerRestController;
+import tn.esprit.spring.RestControllers.UniversiteRestController;
+import tn.esprit.spring.Services.AnneeUniversitaire.AnneeUniversitaireService;
+import tn.esprit.spring.Services.AnneeUniversitaire.ParametresAnneeUniversitaire;
+import tn.esprit.spring.Services.Bloc.BlocService;
+import tn.esprit.spring.Services.Chambre.ChambreService;
+import tn.esprit.spring.Services.Chambre.OccupationChambreService;
+import tn.esprit.spring.Services.Chambre.RapportChambreService;
+import tn.esprit.spring.Services.Chambre.StatistiquesChambreService;
+import tn.esprit.spring.Services.Foyer.FoyerService;
+import tn.esprit.spring.Services.Universite.UniversiteService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Lectures des contrôleurs: vues projetées sérialisées sans parcourir les associations,
+// une seule requête SQL par liste quel que soit le nombre de lignes
+@DataJpaTest(properties = {"spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=tn.esprit.spring.VuesLectureTest$Capture"})
+@Import({ChambreRestController.class, BlocRestController.class, FoyerRestController.class, UniversiteRestController.class,
+        ChambreService.class, BlocService.class, FoyerService.class, UniversiteService.class, OccupationChambreService.class,
+        StatistiquesChambreService.class, RapportChambreService.class, AnneeUniversitaireService.class,
+        ParametresAnneeUniversitaire.class, ExportNdjson.class, JacksonAutoConfiguration.class,
+        VuesLectureTest.Registre.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class VuesLectureTest {
+
+    private static final int NB_CHAMBRES = 40;
+
+    @Autowired
+    private ChambreRestController chambreRestController;
+
+    @Autowired
+    private BlocRestController blocRestController;
+
+    @Autowired
+    private FoyerRestController foyerRestController;
+
+    @Autowired
+    private UniversiteRestController universiteRestController;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    @TestConfiguration
+    static class Registre {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    // Requêtes du thread du test seules: les tâches planifiées du contexte ne sont pas comptées
+    public static class Capture implements StatementInspector {
+        static final List<String> requetes = Collections.synchronizedList(new ArrayList<>());
+        static volatile Thread thread;
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == thread) {
+                requetes.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        // Deux foyers avec université, un sans; le dernier bloc n'a pas de foyer
+        JeuDeDonnees.foyers(jdbcTemplate,
+                List.of(new Object[]{1, "Foyer A", 100}, new Object[]{2, "Foyer B", 200}, new Object[]{3, "Foyer C", 300}));
+        JeuDeDonnees.universites(jdbcTemplate,
+                List.of(new Object[]{1, "Esprit", "Tunis", 1}, new Object[]{2, "Insat", "Tunis", 2}));
+        JeuDeDonnees.blocs(jdbcTemplate, List.of(new Object[]{1, "Bloc A", 20, 1}, new Object[]{2, "Bloc B", 20, 1},
+                new Object[]{3, "Bloc C", 20, 2}, new Object[]{4, "Bloc D", 20, null}));
+        List<Object[]> chambres = new ArrayList<>();
+        List<Object[]> reservations = new ArrayList<>();
+        List<Object[]> liens = new ArrayList<>();
+        for (int c = 1; c <= NB_CHAMBRES; c++) {
+            chambres.add(new Object[]{c, 100 + c, TypeChambre.DOUBLE.name(), 1 + (c - 1) % 4});
+            reservations.add(new Object[]{"R" + c, LocalDate.now(), true});
+            liens.add(new Object[]{c, "R" + c});
+        }
+        JeuDeDonnees.chambres(jdbcTemplate, chambres);
+        JeuDeDonnees.reservations(jdbcTemplate, reservations);
+        JeuDeDonnees.reservationsDesChambres(jdbcTemplate, liens);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(chambreRestController, blocRestController, foyerRestController,
+                        universiteRestController)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+        Capture.thread = Thread.currentThread();
+        Capture.requetes.clear();
+    }
+
+    @AfterEach
+    void afterEach() {
+        Capture.thread = null;
+        JeuDeDonnees.vider(jdbcTemplate);
+    }
+
+    @Test
+    void testUneRequeteParListe() throws Exception {
+        assertUneRequete("/chambre/findAll").andExpect(jsonPath("$", hasSize(NB_CHAMBRES)));
+        assertUneRequete("/chambre/findAllApres?apres=10&size=20").andExpect(jsonPath("$", hasSize(20)))
+                .andExpect(jsonPath("$[0].idChambre").value(11));
+        assertUneRequete("/chambre/getChambresParNomBloc?nomBloc=Bloc A").andExpect(jsonPath("$", hasSize(NB_CHAMBRES / 4)));
+        assertUneRequete("/bloc/findAll").andExpect(jsonPath("$", hasSize(4)));
+        assertUneRequete("/bloc/findAllApres?apres=0").andExpect(jsonPath("$", hasSize(4)));
+        assertUneRequete("/foyer/findAll").andExpect(jsonPath("$", hasSize(3)));
+        assertUneRequete("/foyer/findAllApres?apres=1").andExpect(jsonPath("$", hasSize(2)));
+        assertUneRequete("/universite/findAll").andExpect(jsonPath("$", hasSize(2)));
+        assertUneRequete("/universite/findAllApres?apres=0").andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void testContenuDesVues() throws Exception {
+        assertUneRequete("/chambre/findById?id=2")
+                .andExpect(jsonPath("$.numeroChambre").value(102))
+                .andExpect(jsonPath("$.typeC").value("DOUBLE"))
+                .andExpect(jsonPath("$.idBloc").value(2))
+                .andExpect(jsonPath("$.nomBloc").value("Bloc B"))
+                .andExpect(jsonPath("$.reservations").doesNotExist());
+        assertUneRequete("/bloc/findAll")
+                .andExpect(jsonPath("$[0].nomFoyer").value("Foyer A"))
+                .andExpect(jsonPath("$[3].idFoyer").value(nullValue()))
+                .andExpect(jsonPath("$[0].chambres").doesNotExist());
+        assertUneRequete("/foyer/findAll")
+                .andExpect(jsonPath("$[0].nomUniversite").value("Esprit"))
+                .andExpect(jsonPath("$[0].nbBlocs").value(2))
+                .andExpect(jsonPath("$[2].idUniversite").value(nullValue()))
+                .andExpect(jsonPath("$[2].nbBlocs").value(0))
+                .andExpect(jsonPath("$[0].blocs").doesNotExist());
+        assertUneRequete("/universite/findById?id=2")
+                .andExpect(jsonPath("$.adresse").value("Tunis"))
+                .andExpect(jsonPath("$.idFoyer").value(2))
+                .andExpect(jsonPath("$.nomFoyer").value("Foyer B"))
+                .andExpect(jsonPath("$.foyer").doesNotExist());
+    }
+
+    @Test
+    void testPageAvecSonDenombrement() throws Exception {
+        mockMvc.perform(get("/chambre/findAllPage?page=1&size=15&sort=numeroChambre,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(15)))
+                .andExpect(jsonPath("$.content[0].numeroChambre").value(100 + NB_CHAMBRES - 15))
+                .andExpect(jsonPath("$.totalElements").value(NB_CHAMBRES));
+        // Contenu puis total: le count n'est pas refait ligne par ligne
+        assertEquals(2, Capture.requetes.size(), Capture.requetes.toString());
+    }
+
+    private ResultActions assertUneRequete(String url) throws Exception {
+        Capture.requetes.clear();
+        ResultActions resultat = mockMvc.perform(get(url)).andExpect(status().isOk());
+        assertEquals(1, Capture.requetes.size(), url + ": " + Capture.requetes);
+        return resultat;
+    }
+}